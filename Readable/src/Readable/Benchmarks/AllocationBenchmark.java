@@ -0,0 +1,78 @@
+package Readable.Benchmarks;
+
+import Readable.Bytecode.Compiler;
+import Readable.Environments.Environment;
+import Readable.Evaluating.Evaluator;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.Parsing.Parser;
+import Readable.Resolving.Resolver;
+import Readable.Bytecode.VM;
+
+import java.lang.management.ManagementFactory;
+
+public class AllocationBenchmark {
+    // Bytes of garbage each engine makes per iteration of a counting loop whose values all stay small: every
+    // comparison, sum and truth test in it should come out of the shared TRUE/FALSE/NULL and small-int instances.
+    // The second loop does the same through one- and two-argument built-in calls, which should need no argument list.
+    // Run with: java Readable.Benchmarks.AllocationBenchmark [rounds]
+
+    // ------------ Static Variables ------------
+    private static final int INNER = 1000;
+    private static final String PROGRAM = """
+            total = 0
+            round = 0
+            while round < ROUNDS:
+                i = 0
+                while i < INNER:
+                    same = i == i
+                    big = i >= 500 and i != 0
+                    total = total + 1 - 1
+                    i = i + 1
+                round = round + 1
+            """;
+    private static final String BUILT_IN_PROGRAM = """
+            total = 0
+            round = 0
+            while round < ROUNDS:
+                i = 0
+                while i < INNER:
+                    same = truthy(i)
+                    big = AND(same, OR(same, false))
+                    total = subtract(sum(total, 1), 1)
+                    i = sum(i, 1)
+                round = sum(round, 1)
+            """;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        long iterations = (long) rounds * INNER;
+        measure("operators", PROGRAM, rounds, iterations);
+        measure("built-ins", BUILT_IN_PROGRAM, rounds, iterations);
+    }
+
+    private static void measure(String name, String program, int rounds, long iterations) {
+        String source = program.replace("ROUNDS", String.valueOf(rounds)).replace("INNER", String.valueOf(INNER));
+        for (String engine : new String[] {"tree", "vm"}) {
+            run(source, engine);   // warm up
+            long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            long start = System.nanoTime();
+            run(source, engine);
+            long elapsed = System.nanoTime() - start;
+            long bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+            System.out.printf("%-9s %-5s %8.1f bytes/iteration %8.1f ns/iteration%n", name, engine,
+                    (double) bytes / iterations, (double) elapsed / iterations);
+        }
+    }
+
+    private static void run(String source, String engine) {
+        Lexeme tree = new Parser(new Lexer(source).lex()).program();
+        new Resolver().resolve(tree);
+        if (engine.equals("vm")) new VM().run(new Compiler().compile(tree), new Environment());
+        else new Evaluator().eval(tree, new Environment());
+    }
+}
@@ -0,0 +1,71 @@
+package Readable.Benchmarks;
+
+import Readable.Evaluating.Library.BinaryOperators;
+import Readable.Evaluating.Library.BinaryOperators.Operator;
+import Readable.Evaluating.Library.BuiltIns;
+import Readable.Values.*;
+
+import java.util.ArrayList;
+
+public class BinaryOperatorBenchmark {
+    // Time per operation for a few operand pairs, through the n-ary built-ins with a fresh argument list (the way
+    // the generic operator node and the VM used to call them) and through the BinaryOperators table.
+    // Run with: java Readable.Benchmarks.BinaryOperatorBenchmark [operations]
+
+    // ------------ Static Variables ------------
+    private static final int ROUNDS = 5;   // the best round is reported
+    private static Value sink;             // keeps the results alive
+
+    private interface Operation {
+        Value apply(Value left, Value right);
+    }
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Value[] ints = {IntValue.of(3), IntValue.of(40)};
+        Value[] floats = {new FloatValue(-1, 1.5), new FloatValue(-1, 2.25)};
+        Value[] strings = {new StringValue(-1, "readable"), new StringValue(-1, "readably")};
+
+        Operation[] before = {
+                (a, b) -> BuiltIns.sum(list(a, b), 1),
+                (a, b) -> BuiltIns.multiply(list(a, b), 1),
+                (a, b) -> BuiltIns.lessThan(list(a, b), 1),
+                (a, b) -> BuiltIns.equal(list(a, b), 1)};
+        Operation[] after = {
+                (a, b) -> BinaryOperators.apply(Operator.ADD, a, b, 1),
+                (a, b) -> BinaryOperators.apply(Operator.MULTIPLY, a, b, 1),
+                (a, b) -> BinaryOperators.apply(Operator.LESS, a, b, 1),
+                (a, b) -> BinaryOperators.apply(Operator.EQUAL, a, b, 1)};
+        String[] names = {"int + int", "float * float", "string < string", "string == string"};
+        Value[][] operands = {ints, floats, strings, strings};
+
+        // Warm up every case on each kind of operand its operator takes, as the operator sites of a real program see
+        // them, so neither path is timed on a profile narrower than it would have.
+        for (int i = 0; i < names.length; i++) for (Value[] pair : operands) {
+            if (i == 1 && pair == strings) continue;   // strings can't be multiplied together
+            time(pair, operations / 20, before[i]);
+            time(pair, operations / 20, after[i]);
+        }
+        for (int i = 0; i < names.length; i++)
+            System.out.printf("%-17s built-ins %6.1f ns/op   table %6.1f ns/op%n", names[i],
+                    time(operands[i], operations, before[i]), time(operands[i], operations, after[i]));
+    }
+
+    private static ArrayList<Value> list(Value left, Value right) {
+        ArrayList<Value> operands = new ArrayList<>(2);
+        operands.add(left);
+        operands.add(right);
+        return operands;
+    }
+
+    private static double time(Value[] operands, int operations, Operation operation) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < operations; i++) sink = operation.apply(operands[i & 1], operands[~i & 1]);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / operations;
+    }
+}
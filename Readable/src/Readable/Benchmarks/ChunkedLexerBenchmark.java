@@ -0,0 +1,56 @@
+package Readable.Benchmarks;
+
+import Readable.LexicalAnalysis.ChunkedLexer;
+import Readable.LexicalAnalysis.Lexer;
+
+public class ChunkedLexerBenchmark {
+    // Milliseconds for Lexer.lex and ChunkedLexer.lex to make the full lexeme list of a generated source of the given
+    // size. ChunkedLexer uses every core the JVM sees, so run it with -XX:ActiveProcessorCount=1, 2, 4, ... to see
+    // how lexing scales (with one core it is Lexer.lex).
+    // Run with: java -Xmx4g Readable.Benchmarks.ChunkedLexerBenchmark [megabytes]
+
+    // ------------ Static Variables ------------
+    private static final String FUNCTION = """
+            func scoreN(values, limit):
+                total = 0
+                /* counts what is over the limit,
+                   twice over */
+                foreach value in values:
+                    if value > limit and value != 13:
+                        total = total + limit * 2 - 1
+                    else:
+                        total = total + value / 2.5
+                return total
+            resultN = scoreN([3, 14, 15, 92, 65, 35, 89, 79, 32, 38], N)
+            print("score " + resultN)
+            """;
+    private static final int ROUNDS = 5;
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        StringBuilder builder = new StringBuilder(megabytes << 20);
+        for (int i = 0; builder.length() < megabytes << 20; i++) builder.append(FUNCTION.replace("N", String.valueOf(i)));
+        String source = builder.toString();
+        System.out.printf("%d MB, %d cores%n", megabytes, Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round < 2; round++) {   // the first round warms up
+            long whole = 0;
+            long chunked = 0;
+            int lexemes = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                lexemes = new Lexer(source).lex().size();
+                whole += System.nanoTime() - start;
+                start = System.nanoTime();
+                int chunkedLexemes = ChunkedLexer.lex(source).size();
+                chunked += System.nanoTime() - start;
+                if (chunkedLexemes != lexemes)
+                    throw new IllegalStateException(lexemes + " lexemes from Lexer, " + chunkedLexemes + " in chunks");
+            }
+            if (round == 0) continue;
+            System.out.printf("%,d lexemes   Lexer.lex %8.2f ms   ChunkedLexer.lex %8.2f ms%n", lexemes,
+                    whole / 1e6 / ROUNDS, chunked / 1e6 / ROUNDS);
+        }
+    }
+}
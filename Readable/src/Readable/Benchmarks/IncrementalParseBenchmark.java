@@ -0,0 +1,72 @@
+package Readable.Benchmarks;
+
+import Readable.LexicalAnalysis.Lexer;
+import Readable.Parsing.ParsedSource;
+import Readable.Parsing.Parser;
+
+public class IncrementalParseBenchmark {
+    // Milliseconds for ParsedSource to bring a generated program of the given number of lines up to date after an
+    // edit, against parsing it all again with Parser. The edits are a keystroke inside a line in the middle of the
+    // source, Enter near the top (moving every line after it), and a keystroke that opens a block comment and one
+    // that closes it again (an error and back).
+    // Run with: java Readable.Benchmarks.IncrementalParseBenchmark [lines]
+
+    // ------------ Static Variables ------------
+    private static final String FUNCTION = """
+            func scoreN(values, limit):
+                total = 0
+                foreach value in values:
+                    if value > limit and value != 13:
+                        total = total + limit * 2 - 1
+                    else:
+                        total = total + value / 2.5
+                return total
+            resultN = scoreN([3, 14, 15, 92, 65, 35, 89, 79, 32, 38], N)
+            print("score " + resultN)
+            """;
+    private static final int ROUNDS = 200;
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i * 10 < lineCount; i++) builder.append(FUNCTION.replace("N", String.valueOf(i)));
+        String program = builder.toString();
+        System.out.printf("%d lines%n", program.split("\n").length);
+
+        ParsedSource source = new ParsedSource(program);
+        int middle = program.indexOf("limit * 2", program.length() / 2) + "limit * ".length();   // the 2
+        int top = program.indexOf("resultN".replace("N", "0"));
+
+        for (int round = 0; round < 2; round++) {   // the first round warms up
+            long full = 0;
+            long keystroke = 0;
+            long enter = 0;
+            long comment = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                new Parser(new Lexer(program)).program();
+                full += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                source.edit(middle, middle + 1, "3");
+                source.edit(middle, middle + 1, "2");
+                keystroke += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                source.edit(top, top, "\n");
+                source.edit(top, top + 1, "");
+                enter += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                source.edit(middle, middle, "/*");
+                source.edit(middle, middle + 2, "");
+                comment += System.nanoTime() - start;
+                if (source.getProgram() == null) throw new IllegalStateException("Edited back, but " + source.getError());
+            }
+            if (round == 0) continue;
+            System.out.printf("full parse %8.3f ms   keystroke %8.3f ms   enter %8.3f ms   comment %8.3f ms%n",
+                    full / 1e6 / ROUNDS, keystroke / 2e6 / ROUNDS, enter / 2e6 / ROUNDS, comment / 2e6 / ROUNDS);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package Readable.Benchmarks;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.LexicalAnalysis.SymbolTable;
+import Readable.LexicalAnalysis.TableLexer;
+
+import static Readable.LexicalAnalysis.Types.EOF;
+
+public class LexerBenchmark {
+    // Lexemes per second from the hand-written Lexer and the table-driven TableLexer, each lexing generated sources of
+    // the given sizes from memory (the Lexer from a String, the TableLexer from a char[], as each is given one) and
+    // dropping every lexeme as soon as it is made. Both must make the same number of lexemes.
+    // Run with: java -Xmx2g Readable.Benchmarks.LexerBenchmark [megabytes...]   (10 and 100 by default)
+
+    // ------------ Static Variables ------------
+    private static final String FUNCTION = """
+            func scoreN(values, limit):
+                total = 0
+                foreach value in values:
+                    if value > limit and value != 13:
+                        total = total + limit * 2 - 1
+                    else:
+                        total = total + value / 2.5
+                // halve what is left over
+                return total
+            resultN = scoreN([3, 14, 15, 92, 65, 35, 89, 79, 32, 38], N)
+            print("score " + resultN)
+            """;
+    private static final int ROUNDS = 5;
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[] {10, 100};
+        for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+
+        String warmUp = generate(4);
+        for (int i = 0; i < ROUNDS; i++) {
+            handWritten(warmUp);
+            tableDriven(warmUp.toCharArray());
+        }
+
+        for (int megabytes : sizes) {
+            String source = generate(megabytes);
+            char[] chars = source.toCharArray();
+            long handTime = 0;
+            long tableTime = 0;
+            long lexemes = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                long start = System.nanoTime();
+                lexemes = handWritten(source);
+                handTime += System.nanoTime() - start;
+                start = System.nanoTime();
+                long tableLexemes = tableDriven(chars);
+                tableTime += System.nanoTime() - start;
+                if (tableLexemes != lexemes)
+                    throw new IllegalStateException(lexemes + " lexemes from Lexer, " + tableLexemes + " from TableLexer");
+            }
+            System.out.printf("%4d MB, %,d lexemes   hand-written %6.2f M lexemes/s   table-driven %6.2f M lexemes/s%n",
+                    megabytes, lexemes, rate(lexemes, handTime), rate(lexemes, tableTime));
+        }
+    }
+
+    private static String generate(int megabytes) {
+        StringBuilder source = new StringBuilder(megabytes << 20);
+        for (int i = 0; source.length() < megabytes << 20; i++) source.append(FUNCTION.replace("N", String.valueOf(i)));
+        return source.toString();
+    }
+
+    private static long handWritten(String source) {
+        Lexer lexer = new Lexer(source);
+        long count = 0;
+        for (Lexeme lexeme = lexer.next(); lexeme.getType() != EOF; lexeme = lexer.next()) count++;
+        return count;
+    }
+
+    private static long tableDriven(char[] chars) {
+        TableLexer lexer = new TableLexer(chars, chars.length, new SymbolTable());
+        long count = 0;
+        for (Lexeme lexeme = lexer.next(); lexeme.getType() != EOF; lexeme = lexer.next()) count++;
+        return count;
+    }
+
+    private static double rate(long lexemes, long totalNanos) {
+        return lexemes / (totalNanos / 1e9 / ROUNDS) / 1e6;
+    }
+}
@@ -0,0 +1,56 @@
+package Readable.Benchmarks;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.Parsing.Parser;
+
+import java.util.ArrayList;
+
+public class ParallelParseBenchmark {
+    // Milliseconds to parse a generated program of the given number of lines, from its finished lexeme list (the
+    // parse alone) and streaming from a Lexer (lexing and parsing together). Lines are parsed in parallel whenever the
+    // JVM sees more than one core, so run it with -XX:ActiveProcessorCount=1, 2, 4, ... to see how parsing scales.
+    // Run with: java Readable.Benchmarks.ParallelParseBenchmark [lines]
+
+    // ------------ Static Variables ------------
+    private static final String FUNCTION = """
+            func scoreN(values, limit):
+                total = 0
+                foreach value in values:
+                    if value > limit and value != 13 or [value, limit * 2, -value][1] == (limit + 7) * 3:
+                        total = total + limit * 2 - 1 + (value - 3) * (value + 3) / 2
+                    else:
+                        total = total + value / 2.5 - limit * (1 + value) * (2 + value)
+                return total
+            resultN = scoreN([3, 14, 15, 92, 65, 35, 89, 79, 32, 38], N)
+            print("score " + resultN)
+            """;
+    private static final int ROUNDS = 10;
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i * 10 < lineCount; i++) source.append(FUNCTION.replace("N", String.valueOf(i)));
+        String program = source.toString();
+        System.out.printf("%d lines, %d cores%n", program.split("\n").length,
+                Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round < 2; round++) {   // the first round warms up
+            long parsed = 0;
+            long streamed = 0;
+            for (int i = 0; i < ROUNDS; i++) {
+                ArrayList<Lexeme> lexemes = new Lexer(program).lex();
+                long start = System.nanoTime();
+                new Parser(lexemes).program();
+                parsed += System.nanoTime() - start;
+                start = System.nanoTime();
+                new Parser(new Lexer(program)).program();
+                streamed += System.nanoTime() - start;
+            }
+            if (round == 0) continue;
+            System.out.printf("parse %8.2f ms   lex and parse %8.2f ms%n", parsed / 1e6 / ROUNDS,
+                    streamed / 1e6 / ROUNDS);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package Readable.Benchmarks;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.Parsing.Parser;
+import Readable.Precompiling.TreeLoader;
+import Readable.Precompiling.TreeWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PrecompiledLoadBenchmark {
+    // Milliseconds to get the parse tree of a large generated program, by lexing and parsing its source and by
+    // loading it from a .readc file, both read from disk each time, along with the two file sizes.
+    // Run with: java Readable.Benchmarks.PrecompiledLoadBenchmark [functions]
+
+    // ------------ Static Variables ------------
+    private static final String FUNCTION = """
+            func scoreN(values, limit):
+                total = 0
+                foreach value in values:
+                    if value > limit and value != 13:
+                        total = total + limit * 2 - 1
+                    else:
+                        total = total + value / 2.5
+                return total
+            resultN = scoreN([3, 14, 15, 92, 65, 35, 89, 79, 32, 38], N)
+            print("score " + resultN)
+            """;
+    private static final int ROUNDS = 20;
+
+    // ------------ Main ------------
+    public static void main(String[] args) throws IOException {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < functions; i++) source.append(FUNCTION.replace("N", String.valueOf(i)));
+        Path read = Files.createTempFile("benchmark", ".read");
+        Path readc = Path.of(read + "c");
+        try {
+            Files.writeString(read, source);
+            TreeWriter.write(parse(read), readc);
+            System.out.printf("%d lines: .read %d KB, .readc %d KB%n", source.toString().split("\n").length,
+                    Files.size(read) / 1024, Files.size(readc) / 1024);
+            for (int round = 0; round < 2; round++) {   // the first round warms up
+                long parsed = 0;
+                long loaded = 0;
+                for (int i = 0; i < ROUNDS; i++) {
+                    long start = System.nanoTime();
+                    parse(read);
+                    parsed += System.nanoTime() - start;
+                    start = System.nanoTime();
+                    TreeLoader.load(readc);
+                    loaded += System.nanoTime() - start;
+                }
+                if (round == 0) continue;
+                System.out.printf("lex and parse %8.2f ms   load .readc %8.2f ms%n", parsed / 1e6 / ROUNDS,
+                        loaded / 1e6 / ROUNDS);
+            }
+        } finally {
+            Files.deleteIfExists(read);
+            Files.deleteIfExists(readc);
+        }
+    }
+
+    private static Lexeme parse(Path path) throws IOException {
+        return new Parser(new Lexer(Files.readString(path)).lex()).program();
+    }
+}
@@ -0,0 +1,58 @@
+package Readable.Benchmarks;
+
+import Readable.Embedding.CompiledScript;
+import Readable.Embedding.ReadableEngine;
+import Readable.Embedding.ReadableEngine.Backend;
+import Readable.Values.IntValue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+public class ScriptCacheBenchmark {
+    // Microseconds per run of a short script taking one input, first lexed, parsed and resolved on every run (as
+    // ReadableEngine.run does), then compiled once through the engine's script cache and only run after that. The
+    // cache counters at the end should show one miss and a hit for every other compile.
+    // Run with: java Readable.Benchmarks.ScriptCacheBenchmark [runs]
+
+    // ------------ Static Variables ------------
+    private static final String SCRIPT = """
+            func score(values, limit):
+                total = 0
+                foreach value in values:
+                    if value > limit:
+                        total = total + limit
+                    else:
+                        total = total + value
+                return total
+            values = [3, 14, 15, 92, 65, 35, 89, 79, 32, 38]
+            print(score(values, n))
+            """;
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+        for (Backend backend : Backend.values()) {
+            ReadableEngine engine = new ReadableEngine(backend, quiet);
+            for (int round = 0; round < 2; round++) {   // the first round warms up
+                long parsed = time(runs, i -> new ReadableEngine(backend, quiet).run("n = " + i % 50 + "\n" + SCRIPT));
+                long cached = time(runs, i -> engine.compile(SCRIPT, "n").run(IntValue.of(i % 50)));
+                if (round == 0) continue;
+                System.out.printf("%-4s parsed %8.2f us/run   cached %8.2f us/run%n", backend,
+                        parsed / 1000.0 / runs, cached / 1000.0 / runs);
+            }
+            System.out.printf("%-4s cache hits %d, misses %d%n", backend, engine.getCacheHits(),
+                    engine.getCacheMisses());
+        }
+    }
+
+    private interface Run {
+        void run(int i);
+    }
+
+    private static long time(int runs, Run run) {
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) run.run(i);
+        return System.nanoTime() - start;
+    }
+}
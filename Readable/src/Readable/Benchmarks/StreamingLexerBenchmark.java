@@ -0,0 +1,106 @@
+package Readable.Benchmarks;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.Parsing.Parser;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+public class StreamingLexerBenchmark {
+    // Parses a large generated file two ways: read into a String and lexed into a full list before parsing starts,
+    // and lexed in place from a memory-mapped file as the parser asks for lexemes. For each, the time until the
+    // parser has its first lexeme, the time to the finished tree, the bytes allocated on the way, and the heap in use
+    // when parsing starts (holding the whole-file String and lexeme list, for the first).
+    // Run with: java Readable.Benchmarks.StreamingLexerBenchmark [functions]
+
+    // ------------ Static Variables ------------
+    private static final String FUNCTION = """
+            func scoreN(values, limit):
+                total = 0
+                foreach value in values:
+                    if value > limit and value != 13:
+                        total = total + limit * 2 - 1
+                    else:
+                        total = total + value / 2.5
+                return total
+            resultN = scoreN([3, 14, 15, 92, 65, 35, 89, 79, 32, 38], N)
+            print("score " + resultN)
+            """;
+    private static final int ROUNDS = 10;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // ------------ Main ------------
+    public static void main(String[] args) throws IOException {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < functions; i++) source.append(FUNCTION.replace("N", String.valueOf(i)));
+        Path path = Files.createTempFile("benchmark", ".read");
+        try {
+            Files.writeString(path, source);
+            System.out.printf("%d KB of source%n", Files.size(path) / 1024);
+            for (int round = 0; round < 2; round++) {   // the first round warms up
+                long[] whole = new long[3];
+                long[] streamed = new long[3];
+                for (int i = 0; i < ROUNDS; i++) {
+                    add(whole, wholeFile(path, false));
+                    add(streamed, streaming(path, false));
+                }
+                if (round == 0) continue;
+                print("whole file", whole, wholeFile(path, true)[3]);
+                print("streaming", streamed, streaming(path, true)[3]);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    // Each returns {time to first lexeme, time to tree, bytes allocated, heap in use before parsing}; the last only
+    // when asked for, since it takes a full GC.
+    private static long[] wholeFile(Path path, boolean measureLive) throws IOException {
+        long before = allocated();
+        long start = System.nanoTime();
+        String source = new String(Files.readAllBytes(path), Charset.defaultCharset());
+        ArrayList<Lexeme> lexemes = new Lexer(source).lex();
+        long first = System.nanoTime() - start;   // the parser can only begin now
+        long live = measureLive ? live() : 0;
+        new Parser(lexemes).program();
+        return new long[] {first, System.nanoTime() - start, allocated() - before, live};
+    }
+
+    private static long[] streaming(Path path, boolean measureLive) throws IOException {
+        long before = allocated();
+        long start = System.nanoTime();
+        Lexer.mapped(path).next();
+        long firstTime = System.nanoTime() - start;
+        long live = measureLive ? live() : 0;
+        new Parser(Lexer.mapped(path)).program();   // with its own lexer, from the start
+        return new long[] {firstTime, System.nanoTime() - start, allocated() - before, live};
+    }
+
+    private static void add(long[] total, long[] run) {
+        for (int i = 0; i < total.length; i++) total[i] += run[i];
+    }
+
+    private static void print(String name, long[] total, long live) {
+        System.out.printf("%-10s first lexeme %8.2f ms   tree %8.2f ms   allocated %7d KB   in use before parsing "
+                + "%6d KB%n", name, total[0] / 1e6 / ROUNDS, total[1] / 1e6 / ROUNDS, total[2] / 1024 / ROUNDS,
+                live / 1024);
+    }
+
+    private static long allocated() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static long live() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
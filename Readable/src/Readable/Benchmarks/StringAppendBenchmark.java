@@ -0,0 +1,52 @@
+package Readable.Benchmarks;
+
+import Readable.Bytecode.Compiler;
+import Readable.Bytecode.VM;
+import Readable.Environments.Environment;
+import Readable.Evaluating.Evaluator;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.Parsing.Parser;
+import Readable.Resolving.Resolver;
+
+public class StringAppendBenchmark {
+    // Time per append for 'str = str + i' in a foreach, at sizes where copying the whole string every time would
+    // show up as quadratic growth. The per-append time should stay roughly flat as the count grows.
+    // Run with: java Readable.Benchmarks.StringAppendBenchmark [appends...]
+
+    // ------------ Static Variables ------------
+    private static final String PROGRAM = """
+            str = ""
+            foreach i in APPENDS:
+                str = str + i
+            n = len(str)
+            """;
+
+    // ------------ Main ------------
+    public static void main(String[] args) {
+        int[] sizes = {100_000, 300_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        run(PROGRAM.replace("APPENDS", "1000"), "tree");   // warm up
+        run(PROGRAM.replace("APPENDS", "1000"), "vm");
+        for (String engine : new String[] {"tree", "vm"}) {
+            for (int appends : sizes) {
+                long start = System.nanoTime();
+                run(PROGRAM.replace("APPENDS", String.valueOf(appends)), engine);
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("%-5s %,10d appends %8d ms %8.1f ns/append%n", engine, appends,
+                        elapsed / 1_000_000, (double) elapsed / appends);
+            }
+        }
+    }
+
+    private static void run(String source, String engine) {
+        Lexeme tree = new Parser(new Lexer(source).lex()).program();
+        new Resolver().resolve(tree);
+        if (engine.equals("vm")) new VM().run(new Compiler().compile(tree), new Environment());
+        else new Evaluator().eval(tree, new Environment());
+    }
+}
@@ -0,0 +1,59 @@
+package Readable.Bytecode;
+
+import Readable.Environments.Environment;
+import Readable.Values.Value;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+public class CallFrame {
+    // ------------ Instance Variables ------------
+    final Chunk chunk;
+    final int base;          // stack index of the callee; everything from here up is dropped on return
+    int ip = 0;
+    Environment env;
+    Value result;            // value of the last statement, returned when a body ends without 'return'
+    private ArrayList<LoopIterator> loops;
+
+    // ------------ Constructor ------------
+    CallFrame(Chunk chunk, Environment env, int base, Value result) {
+        this.chunk = chunk;
+        this.env = env;
+        this.base = base;
+        this.result = result;
+    }
+
+    // ------------ Foreach Loops ------------
+    void pushLoop(LoopIterator loop) {
+        if (loops == null) loops = new ArrayList<>();
+        loops.add(loop);
+    }
+
+    LoopIterator peekLoop() {
+        return loops.get(loops.size() - 1);
+    }
+
+    void popLoop() {
+        loops.remove(loops.size() - 1);
+    }
+
+    // ------------ Loop Iterator ------------
+    static class LoopIterator {
+        private final Iterator<Value> items;
+        private boolean first = true;
+
+        LoopIterator(Iterator<Value> items) {
+            this.items = items;
+        }
+
+        boolean hasNext() {return items.hasNext();}
+
+        Value next() {return items.next();}
+
+        boolean takeFirst() {   // true only on the first pass, when the loop variable's name must be checked
+            boolean wasFirst = first;
+            first = false;
+            return wasFirst;
+        }
+    }
+}
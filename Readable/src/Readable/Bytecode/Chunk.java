@@ -0,0 +1,89 @@
+package Readable.Bytecode;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class Chunk {
+    // ------------ Instance Variables ------------
+    private int[] code = new int[64];
+    private int[] lines = new int[64];   // source line of every word, for runtime errors
+    private int count = 0;
+
+    private final ArrayList<Lexeme> constantPool = new ArrayList<>();   // names and trees, for lookups and errors
+    private final ArrayList<Value> valuePool = new ArrayList<>();       // literal values
+    private final ArrayList<Prototype> functionPool = new ArrayList<>();
+    private Lexeme[] constants;
+    private Value[] values;
+    private Prototype[] functions;
+
+    // ------------ Writing ------------
+    public int write(int word, int line) {
+        if (count == code.length) {
+            code = Arrays.copyOf(code, count * 2);
+            lines = Arrays.copyOf(lines, count * 2);
+        }
+        code[count] = word;
+        lines[count] = line;
+        return count++;
+    }
+
+    public void patch(int at, int word) {
+        code[at] = word;
+    }
+
+    public int addConstant(Lexeme constant) {
+        constantPool.add(constant);
+        return constantPool.size() - 1;
+    }
+
+    public int addValue(Value value) {
+        valuePool.add(value);
+        return valuePool.size() - 1;
+    }
+
+    public int addFunction(Prototype function) {
+        functionPool.add(function);
+        return functionPool.size() - 1;
+    }
+
+    public Chunk finish() {
+        code = Arrays.copyOf(code, count);
+        lines = Arrays.copyOf(lines, count);
+        constants = constantPool.toArray(new Lexeme[0]);
+        values = valuePool.toArray(new Value[0]);
+        functions = functionPool.toArray(new Prototype[0]);
+        return this;
+    }
+
+    // ------------ Getters ------------
+    public int getCount() {return count;}
+
+    public int[] getCode() {return code;}
+
+    public int getLine(int offset) {return lines[offset];}
+
+    public Lexeme[] getConstants() {return constants;}
+
+    public Value[] getValues() {return values;}
+
+    public Prototype[] getFunctions() {return functions;}
+
+    // ------------ Disassembling ------------
+    public String disassemble(String name) {
+        StringBuilder str = new StringBuilder("== " + name + " ==\n");
+        int offset = 0;
+        while (offset < count) {
+            int op = code[offset];
+            str.append(String.format("%04d %4d %-16s", offset, lines[offset], OpCode.NAMES[op]));
+            for (int i = 1; i <= OpCode.OPERANDS[op]; i++) str.append(" ").append(code[offset + i]);
+            str.append("\n");
+            offset += 1 + OpCode.OPERANDS[op];
+        }
+        for (Prototype function : functionPool)
+            str.append(function.getChunk().disassemble(function.getName().getStringValue()));
+        return str.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package Readable.Bytecode;
+
+import Readable.Environments.Environment;
+import Readable.LexicalAnalysis.Types;
+import Readable.Values.Value;
+
+public class Closure extends Value {
+    // The VM's function value: a compiled Prototype paired with the environment it was defined in.
+
+    // ------------ Instance Variables ------------
+    private final Prototype prototype;
+    private final Environment definingEnv;
+
+    // ------------ Constructor ------------
+    public Closure(Prototype prototype, Environment definingEnv) {
+        super(prototype.getLine());
+        this.prototype = prototype;
+        this.definingEnv = definingEnv;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.FUNC;}
+
+    public Prototype getPrototype() {return prototype;}
+
+    public Environment getDefiningEnv() {return definingEnv;}
+
+    @Override
+    public String printRepr() {return "[fnct]";}
+}
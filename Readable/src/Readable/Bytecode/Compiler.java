@@ -0,0 +1,317 @@
+package Readable.Bytecode;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Types;
+
+import java.util.ArrayList;
+
+import static Readable.Bytecode.OpCode.*;
+import static Readable.LexicalAnalysis.Types.*;
+
+public class Compiler {
+    // ------------ Instance Variables ------------
+    private Chunk chunk;
+    private int scopes = 0;                               // ENTER_SCOPEs not yet closed at this point in the function
+    private ArrayList<Loop> loops = new ArrayList<>();    // loops around this point in the function, innermost last
+
+    // ------------ Compiling ------------
+    // Lowers a resolved PROG tree into a Chunk for the VM. Identifiers the Resolver tagged become slot accesses;
+    // the rest keep their by-name lookups.
+    public Chunk compile(Lexeme program) {
+        chunk = new Chunk();
+        compileStatementList(program.getChild(0));
+        emit(RETURN_RESULT, program.getLine());
+        return chunk.finish();
+    }
+
+    private Prototype compileFunction(Lexeme tree, boolean lambda) {
+        Chunk enclosing = chunk;
+        int enclosingScopes = scopes;
+        ArrayList<Loop> enclosingLoops = loops;
+        chunk = new Chunk();
+        scopes = 0;
+        loops = new ArrayList<>();
+        Lexeme body = tree.getChild(2);
+        if (lambda) {
+            compileExpression(body);
+            emit(OpCode.RETURN, body.getLine());
+        } else {
+            compileStatementList(body);
+            emit(RETURN_RESULT, tree.getLine());
+        }
+        Prototype function = new Prototype(tree.getChild(0), tree.getChild(1), chunk.finish(),
+                lambda ? -1 : tree.getLine(), tree.getCaptures(), tree.getCaptureDepths(), tree.getCaptureSlots());
+        chunk = enclosing;
+        scopes = enclosingScopes;
+        loops = enclosingLoops;
+        return function;
+    }
+
+    // ------------ Statements ------------
+    private void compileStatementList(Lexeme tree) {
+        for (Lexeme statement : tree.getChildren()) compileStatement(statement);
+    }
+
+    private void compileStatement(Lexeme tree) {
+        switch (tree.getType()) {
+            case RETURN -> {
+                compileExpression(tree.getChild(0));
+                emit(OpCode.RETURN, tree.getLine());
+            }
+            case ASS -> {
+                compileExpression(tree.getChild(1));
+                compileAssignment(tree.getChild(0));
+                emit(NULL_RESULT, tree.getLine());
+            }
+            case ARR_ASS -> {
+                compileVariable(tree.getChild(0));
+                emit(CHECK_ARRAY, tree.getLine());
+                compileExpression(tree.getChild(1));
+                compileExpression(tree.getChild(2));
+                emit(INDEX_SET, tree.getLine());
+                emit(NULL_RESULT, tree.getLine());
+            }
+            case FUNC, LAMBDA -> {
+                emit(CLOSURE, tree.getLine(), chunk.addFunction(compileFunction(tree, tree.getType() == LAMBDA)));
+                emit(RESULT, tree.getLine());
+            }
+            case WHILE -> compileWhileLoop(tree);
+            case FOREACH -> compileForeach(tree);
+            case BREAK -> compileBreak(tree);
+            case CONTINUE -> compileContinue(tree);
+            case CONDITIONAL_BLOCK -> compileCond(tree);
+            default -> {
+                compileExpression(tree);
+                emit(RESULT, tree.getLine());
+            }
+        }
+    }
+
+    private void compileAssignment(Lexeme identifier) {
+        if (identifier.isResolved())
+            emit(SET_LOCAL, identifier.getLine(), identifier.getDepth(), identifier.getSlot(), constant(identifier));
+        else
+            emit(SET_NAME, identifier.getLine(), constant(identifier));
+    }
+
+    private void compileBlock(Lexeme block) {
+        emit(ENTER_SCOPE, block.getLine());
+        scopes++;
+        compileStatementList(block);
+        emit(EXIT_SCOPE, block.getLine());
+        scopes--;
+    }
+
+    private void compileWhileLoop(Lexeme tree) {
+        int loopStart = chunk.getCount();
+        compileExpression(tree.getChild(0));
+        emit(CONDITION, tree.getLine());
+        int exitJump = emitJump(JUMP_IF_NOT_TRUE, tree.getLine());
+        Loop loop = new Loop(loopStart, scopes, false);
+        loops.add(loop);
+        compileBlock(tree.getChild(1));
+        emitLoop(loopStart, tree.getLine());
+        patchJump(exitJump);
+        endLoop(loop);
+        emit(NULL_RESULT, tree.getLine());
+    }
+
+    private void compileForeach(Lexeme tree) {
+        Lexeme identifier = tree.getChild(0);
+        Lexeme iterable = tree.getChild(1);
+        if (iterable.getType() == Types.RANGE) {
+            compileExpression(iterable.getChild(0));
+            compileExpression(iterable.getChild(1));
+            emit(ITERATE_RANGE, tree.getLine());
+        } else {
+            compileExpression(iterable);
+            emit(ITERATE, tree.getLine());
+        }
+        int loopStart = chunk.getCount();
+        int exitJump = emitJump(FOR_ITER, tree.getLine());
+        Loop loop = new Loop(loopStart, scopes, true);
+        loops.add(loop);
+        emit(ENTER_SCOPE, tree.getLine());
+        scopes++;
+        emit(DEFINE_LOOP_VAR, tree.getLine(), identifier.isResolved() ? identifier.getSlot() : -1,
+                constant(identifier));
+        compileStatementList(tree.getChild(2));
+        emit(EXIT_SCOPE, tree.getLine());
+        scopes--;
+        emitLoop(loopStart, tree.getLine());
+        patchJump(exitJump);   // FOR_ITER has already dropped the iterator here
+        endLoop(loop);
+        emit(NULL_RESULT, tree.getLine());
+    }
+
+    // A break or continue leaves every scope opened inside its loop; a break out of a foreach also drops the iterator.
+    private void compileBreak(Lexeme tree) {
+        Loop loop = loops.get(loops.size() - 1);
+        exitScopes(loop, tree.getLine());
+        if (loop.foreach) emit(POP_LOOP, tree.getLine());
+        loop.breaks.add(emitJump(JUMP, tree.getLine()));
+    }
+
+    private void compileContinue(Lexeme tree) {
+        Loop loop = loops.get(loops.size() - 1);
+        exitScopes(loop, tree.getLine());
+        emitLoop(loop.start, tree.getLine());
+    }
+
+    private void exitScopes(Loop loop, int line) {
+        for (int i = loop.scopes; i < scopes; i++) emit(EXIT_SCOPE, line);
+    }
+
+    private void endLoop(Loop loop) {
+        for (int jump : loop.breaks) patchJump(jump);
+        loops.remove(loops.size() - 1);
+    }
+
+    private void compileCond(Lexeme tree) {
+        emit(NULL_RESULT, tree.getLine());   // the value of a conditional with no branch taken
+        int[] endJumps = new int[tree.getChildren().size()];
+        int jumps = 0;
+        for (Lexeme branch : tree.getChildren()) {
+            if (branch.getType() == ELSE) {
+                compileBlock(branch.getChild(0));
+            } else {
+                compileExpression(branch.getChild(0));
+                int nextJump = emitJump(JUMP_IF_NOT_TRUE, branch.getLine());
+                compileBlock(branch.getChild(1));
+                endJumps[jumps++] = emitJump(JUMP, branch.getLine());
+                patchJump(nextJump);
+            }
+        }
+        for (int i = 0; i < jumps; i++) patchJump(endJumps[i]);
+    }
+
+    // ------------ Expressions ------------
+    private void compileExpression(Lexeme tree) {
+        switch (tree.getType()) {
+            case INT_LIT, FLOAT_LIT, STRING_LIT, TRUE, FALSE -> emit(CONSTANT, tree.getLine(), chunk.addValue(tree.toValue()));
+            case IDENTIFIER -> compileVariable(tree);
+            case PLUS -> compileBinary(tree, ADD);
+            case MINUS -> compileBinary(tree, SUBTRACT);
+            case TIMES -> compileBinary(tree, MULTIPLY);
+            case DIVIDE -> compileBinary(tree, OpCode.DIVIDE);
+            case GREATER_THAN_COMP -> compileBinary(tree, GREATER);
+            case GREATER_OR_EQUAL_COMP -> compileBinary(tree, GREATER_EQUAL);
+            case LESS_THAN_COMP -> compileBinary(tree, LESS);
+            case LESS_OR_EQUAL_COMP -> compileBinary(tree, LESS_EQUAL);
+            case EQUALITY_COMP -> compileBinary(tree, EQUAL);
+            case NOT_EQUAL_COMP -> compileBinary(tree, NOT_EQUAL);
+            case AND -> compileBinary(tree, OpCode.AND);
+            case OR -> compileBinary(tree, OpCode.OR);
+            case NEGATE -> {
+                compileExpression(tree.getChild(0));
+                emit(OpCode.NEGATE, tree.getChild(0).getLine());
+            }
+            case NOT -> {
+                compileExpression(tree.getChild(0));
+                emit(OpCode.NOT, tree.getLine());
+            }
+            case ARR -> {
+                Lexeme elements = tree.getChild(0);
+                for (Lexeme element : elements.getChildren()) compileExpression(element);
+                emit(ARRAY, tree.getLine(), elements.getChildren().size());
+            }
+            case RANGE -> {
+                compileExpression(tree.getChild(0));
+                compileExpression(tree.getChild(1));
+                emit(OpCode.RANGE, tree.getLine());
+            }
+            case ARR_ACC -> {
+                compileVariable(tree.getChild(0));
+                emit(CHECK_ARRAY, tree.getLine());
+                compileExpression(tree.getChild(1));
+                emit(INDEX, tree.getLine());
+            }
+            case FUNC_CALL -> compileCall(tree);
+            default -> emit(CANNOT_EVALUATE, tree.getLine(), constant(tree));
+        }
+    }
+
+    private void compileVariable(Lexeme identifier) {
+        if (identifier.isResolved())
+            emit(GET_LOCAL, identifier.getLine(), identifier.getDepth(), identifier.getSlot(), constant(identifier));
+        else if (identifier.isBuiltInReference())
+            emit(GET_BUILT_IN, identifier.getLine(), constant(identifier));
+        else
+            emit(GET_NAME, identifier.getLine(), constant(identifier));
+    }
+
+    private void compileBinary(Lexeme tree, int op) {
+        compileExpression(tree.getChild(0));
+        compileExpression(tree.getChild(1));
+        emit(op, tree.getChild(0).getLine());
+    }
+
+    private void compileCall(Lexeme tree) {
+        Lexeme callee = tree.getChild(0);
+        if (callee.getType() == IDENTIFIER) {
+            compileVariable(callee);
+            emit(CHECK_CALLABLE, tree.getLine(), 0);
+        } else {
+            compileExpression(callee);
+            emit(CHECK_CALLABLE, tree.getLine(), 1);   // a call's result may only be called if it is a function
+        }
+
+        Lexeme args = tree.getChild(1);
+        boolean unpacking = false;
+        for (Lexeme arg : args.getChildren()) unpacking |= arg.getType() == UNPACKABLE;
+        if (!unpacking) {
+            for (Lexeme arg : args.getChildren()) compileExpression(arg);
+            emit(CALL, tree.getLine(), args.getChildren().size());
+            return;
+        }
+        emit(OpCode.ARG_LIST, tree.getLine());
+        for (Lexeme arg : args.getChildren()) {
+            if (arg.getType() == UNPACKABLE) {
+                compileExpression(arg.getChild(0));
+                emit(ARG_UNPACK, tree.getLine(), constant(args));
+            } else {
+                compileExpression(arg);
+                emit(ARG_APPEND, tree.getLine());
+            }
+        }
+        emit(CALL_LIST, tree.getLine());
+    }
+
+    // ------------ Emitting ------------
+    private void emit(int op, int line, int... operands) {
+        chunk.write(op, line);
+        for (int operand : operands) chunk.write(operand, line);
+    }
+
+    private int constant(Lexeme lexeme) {
+        return chunk.addConstant(lexeme);
+    }
+
+    private int emitJump(int op, int line) {
+        chunk.write(op, line);
+        return chunk.write(0, line);   // patched once the target is known
+    }
+
+    private void patchJump(int operand) {
+        chunk.patch(operand, chunk.getCount() - (operand + 1));
+    }
+
+    private void emitLoop(int loopStart, int line) {
+        chunk.write(LOOP, line);
+        chunk.write(chunk.getCount() + 1 - loopStart, line);
+    }
+
+    // ------------ Loops ------------
+    private static class Loop {
+        final int start;        // where a continue jumps back to
+        final int scopes;       // open scopes outside the loop
+        final boolean foreach;
+        final ArrayList<Integer> breaks = new ArrayList<>();   // jumps to patch to the loop's end
+
+        Loop(int start, int scopes, boolean foreach) {
+            this.start = start;
+            this.scopes = scopes;
+            this.foreach = foreach;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package Readable.Bytecode;
+
+public final class OpCode {
+    // Each instruction is one int in a Chunk's code, followed by its operands (the count is in OPERANDS).
+
+    // ------------ Stack ------------
+    public static final int CONSTANT = 0;          // [value]               push values[value]
+    public static final int NULL = 1;              //                       push null
+    public static final int POP = 2;
+
+    // ------------ Variables ------------
+    public static final int GET_LOCAL = 3;         // [depth, slot, name]
+    public static final int SET_LOCAL = 4;         // [depth, slot, name]   pops the value
+    public static final int GET_NAME = 5;          // [name]                by-name lookup for unresolved identifiers
+    public static final int SET_NAME = 6;          // [name]
+    public static final int GET_BUILT_IN = 7;      // [name]
+
+    // ------------ Operators ------------
+    public static final int ADD = 8;
+    public static final int SUBTRACT = 9;
+    public static final int MULTIPLY = 10;
+    public static final int DIVIDE = 11;
+    public static final int NEGATE = 12;
+    public static final int GREATER = 13;
+    public static final int GREATER_EQUAL = 14;
+    public static final int LESS = 15;
+    public static final int LESS_EQUAL = 16;
+    public static final int EQUAL = 17;
+    public static final int NOT_EQUAL = 18;
+    public static final int AND = 19;
+    public static final int OR = 20;
+    public static final int NOT = 21;
+
+    // ------------ Control Flow ------------
+    public static final int JUMP = 22;             // [offset]              forwards, from the end of the instruction
+    public static final int JUMP_IF_NOT_TRUE = 23; // [offset]              pops the condition
+    public static final int LOOP = 24;             // [offset]              backwards, from the end of the instruction
+    public static final int CONDITION = 25;        //                       while-loop truthiness check
+    public static final int ENTER_SCOPE = 26;
+    public static final int EXIT_SCOPE = 27;
+
+    // ------------ Foreach ------------
+    public static final int ITERATE = 28;          //                       pops an iterable, starts a loop over it
+    public static final int ITERATE_RANGE = 29;    //                       pops both range operands
+    public static final int FOR_ITER = 30;         // [offset]              pushes the next item or ends the loop
+    public static final int DEFINE_LOOP_VAR = 31;  // [slot, name]
+    public static final int POP_LOOP = 49;         //                       ends the innermost loop early, on a break
+
+    // ------------ Arrays ------------
+    public static final int ARRAY = 32;            // [count]
+    public static final int CHECK_ARRAY = 33;
+    public static final int INDEX = 34;
+    public static final int INDEX_SET = 35;
+    public static final int RANGE = 48;            //                       pops both operands, pushes a lazy range
+
+    // ------------ Functions ------------
+    public static final int CLOSURE = 36;          // [function]            defines it and pushes its name
+    public static final int CHECK_CALLABLE = 37;   // [functionsOnly]
+    public static final int CALL = 38;             // [argCount]
+    public static final int ARG_LIST = 39;         //                       starts an argument list with unpacking
+    public static final int ARG_APPEND = 40;
+    public static final int ARG_UNPACK = 41;       // [argList]             the ARG_LIST lexeme, for error reporting
+    public static final int CALL_LIST = 42;
+    public static final int RETURN = 43;
+    public static final int RETURN_RESULT = 44;    //                       returns the last statement's value
+
+    // ------------ Statements ------------
+    public static final int RESULT = 45;           //                       pops a statement's value
+    public static final int NULL_RESULT = 46;
+    public static final int CANNOT_EVALUATE = 47;  // [constant]
+
+    public static final String[] NAMES = {
+            "CONSTANT", "NULL", "POP", "GET_LOCAL", "SET_LOCAL", "GET_NAME", "SET_NAME", "GET_BUILT_IN",
+            "ADD", "SUBTRACT", "MULTIPLY", "DIVIDE", "NEGATE", "GREATER", "GREATER_EQUAL", "LESS", "LESS_EQUAL",
+            "EQUAL", "NOT_EQUAL", "AND", "OR", "NOT", "JUMP", "JUMP_IF_NOT_TRUE", "LOOP", "CONDITION",
+            "ENTER_SCOPE", "EXIT_SCOPE", "ITERATE", "ITERATE_RANGE", "FOR_ITER", "DEFINE_LOOP_VAR", "ARRAY",
+            "CHECK_ARRAY", "INDEX", "INDEX_SET", "CLOSURE", "CHECK_CALLABLE", "CALL", "ARG_LIST", "ARG_APPEND",
+            "ARG_UNPACK", "CALL_LIST", "RETURN", "RETURN_RESULT", "RESULT", "NULL_RESULT", "CANNOT_EVALUATE",
+            "RANGE", "POP_LOOP"
+    };
+
+    public static final int[] OPERANDS = {
+            1, 0, 0, 3, 3, 1, 1, 1,
+            0, 0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 1, 1, 1, 0,
+            0, 0, 0, 0, 1, 2, 1,
+            0, 0, 0, 1, 1, 1, 0, 0,
+            1, 0, 0, 0, 0, 0, 1,
+            0, 0
+    };
+
+    private OpCode() {}
+}
@@ -0,0 +1,53 @@
+package Readable.Bytecode;
+
+import Readable.LexicalAnalysis.Lexeme;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class Prototype {
+    // ------------ Instance Variables ------------
+    // The compiled, environment-free part of a function or lambda; a Closure pairs it with its defining environment.
+    private final Lexeme name;
+    private final Lexeme paramList;
+    private final Chunk chunk;
+    private final int line;
+    private final Lexeme[] captures;     // see Environment.getFunctionEnv
+    private final int[] captureDepths;
+    private final int[] captureSlots;
+
+    // ------------ Constructor ------------
+    public Prototype(Lexeme name, Lexeme paramList, Chunk chunk, int line, Lexeme[] captures, int[] captureDepths,
+                     int[] captureSlots) {
+        this.name = name;
+        this.paramList = paramList;
+        this.chunk = chunk;
+        this.line = line;
+        this.captures = captures;
+        this.captureDepths = captureDepths;
+        this.captureSlots = captureSlots;
+    }
+
+    // ------------ Getters ------------
+    public Lexeme getName() {return name;}
+
+    public Chunk getChunk() {return chunk;}
+
+    public int getLine() {return line;}
+
+    public Lexeme[] getCaptures() {return captures;}
+
+    public int[] getCaptureDepths() {return captureDepths;}
+
+    public int[] getCaptureSlots() {return captureSlots;}
+
+    public boolean takesArbitraryArgs() {return paramList.getType() == ARB_PARAM_LIST;}
+
+    public int getArity() {
+        return paramList.getType() == PARAM_LIST ? paramList.getChildren().size() : 0;
+    }
+
+    public Lexeme getParam(int i) {
+        if (takesArbitraryArgs()) return paramList.getChild(0);
+        return paramList.getChild(i).getChild(0);
+    }
+}
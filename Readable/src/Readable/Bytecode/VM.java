@@ -0,0 +1,340 @@
+package Readable.Bytecode;
+
+import Readable.Bytecode.CallFrame.LoopIterator;
+import Readable.Environments.Environment;
+import Readable.Evaluating.Library.BinaryOperators;
+import Readable.Evaluating.Library.BinaryOperators.Operator;
+import Readable.Evaluating.Library.BuiltIns;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Types;
+import Readable.Readable;
+import Readable.Values.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import static Readable.Bytecode.OpCode.*;
+import static Readable.LexicalAnalysis.Types.*;
+
+public class VM {
+    // ------------ Instance Variables ------------
+    private static final Value NULL_VALUE = NullValue.NULL;
+    private static final Operator[] OPERATORS = new Operator[OpCode.OR + 1];   // by opcode, for the binary ones
+
+    static {   // one dispatch arm for all of them keeps BinaryOperators.apply inlined into run just once
+        OPERATORS[ADD] = Operator.ADD;
+        OPERATORS[SUBTRACT] = Operator.SUBTRACT;
+        OPERATORS[MULTIPLY] = Operator.MULTIPLY;
+        OPERATORS[OpCode.DIVIDE] = Operator.DIVIDE;
+        OPERATORS[GREATER] = Operator.GREATER;
+        OPERATORS[GREATER_EQUAL] = Operator.GREATER_EQUAL;
+        OPERATORS[LESS] = Operator.LESS;
+        OPERATORS[LESS_EQUAL] = Operator.LESS_EQUAL;
+        OPERATORS[EQUAL] = Operator.EQUAL;
+        OPERATORS[NOT_EQUAL] = Operator.NOT_EQUAL;
+        OPERATORS[OpCode.AND] = Operator.AND;
+        OPERATORS[OpCode.OR] = Operator.OR;
+    }
+
+    private Value[] stack = new Value[256];
+    private int sp = 0;
+    private CallFrame[] frames = new CallFrame[64];
+    private int frameCount = 0;
+
+    // ------------ Running ------------
+    public Value run(Chunk script, Environment globalEnv) {
+        CallFrame frame = new CallFrame(script, globalEnv, 0, NULL_VALUE);
+        frames[frameCount++] = frame;
+        int[] code = script.getCode();
+        Lexeme[] constants = script.getConstants();
+        Value[] values = script.getValues();
+        Environment env = globalEnv;
+        int ip = 0;
+
+        while (true) {
+            int start = ip;
+            switch (code[ip++]) {
+                // ------------ Stack ------------
+                case CONSTANT -> push(values[code[ip++]]);
+                case OpCode.NULL -> push(NULL_VALUE);
+                case POP -> sp--;
+
+                // ------------ Variables ------------
+                case GET_LOCAL -> {
+                    int depth = code[ip++];
+                    int slot = code[ip++];
+                    push(env.lookupAt(depth, slot, constants[code[ip++]]));
+                }
+                case SET_LOCAL -> {
+                    int depth = code[ip++];
+                    int slot = code[ip++];
+                    env.assignAt(depth, slot, constants[code[ip++]], pop());
+                }
+                case GET_NAME -> push(env.lookup(constants[code[ip++]]));
+                case SET_NAME -> env.addOrUpdate(constants[code[ip++]], pop());
+                case GET_BUILT_IN -> push(env.lookupBuiltIn(constants[code[ip++]]));
+
+                // ------------ Operators ------------
+                case ADD, SUBTRACT, MULTIPLY, OpCode.DIVIDE, GREATER, GREATER_EQUAL, LESS, LESS_EQUAL, EQUAL, NOT_EQUAL,
+                        OpCode.AND, OpCode.OR -> binary(OPERATORS[code[start]], frame.chunk.getLine(start));
+                case OpCode.NEGATE -> {
+                    push(new IntValue(frame.chunk.getLine(start), -1));
+                    binary(Operator.MULTIPLY, frame.chunk.getLine(start));
+                }
+                case OpCode.NOT -> {
+                    push(BuiltIns.NOT(pop(), frame.chunk.getLine(start)));
+                }
+
+                // ------------ Control Flow ------------
+                case JUMP -> {
+                    int offset = code[ip++];
+                    ip += offset;
+                }
+                case JUMP_IF_NOT_TRUE -> {
+                    int offset = code[ip++];
+                    if (pop().getType() != TRUE) ip += offset;
+                }
+                case LOOP -> {
+                    int offset = code[ip++];
+                    ip -= offset;
+                }
+                case CONDITION -> {
+                    int line = frame.chunk.getLine(start);
+                    Value evalComp = BuiltIns.truthy(pop(), line);
+                    if (evalComp.getType() != TRUE && evalComp.getType() != FALSE)
+                        error("While loop condition must evaluate to TRUE or FALSE", line);
+                    push(evalComp);
+                }
+                case ENTER_SCOPE -> env = new Environment(env);
+                case EXIT_SCOPE -> env = env.getParent();
+
+                // ------------ Foreach ------------
+                case ITERATE -> frame.pushLoop(new LoopIterator(toIterable(pop())));
+                case ITERATE_RANGE -> {
+                    Value second = pop();
+                    Value first = pop();
+                    frame.pushLoop(new LoopIterator(toRange(first, second, frame.chunk.getLine(start)).iterator()));
+                }
+                case FOR_ITER -> {
+                    int offset = code[ip++];
+                    LoopIterator loop = frame.peekLoop();
+                    if (loop.hasNext()) {
+                        push(loop.next());
+                    } else {
+                        frame.popLoop();
+                        ip += offset;
+                    }
+                }
+                case POP_LOOP -> frame.popLoop();
+                case DEFINE_LOOP_VAR -> {
+                    int slot = code[ip++];
+                    Lexeme identifier = constants[code[ip++]];
+                    if (slot >= 0 && !frame.peekLoop().takeFirst()) env.assignAt(0, slot, identifier, pop());
+                    else env.add(identifier, pop());   // the enclosing names cannot change between passes
+                }
+
+                // ------------ Arrays ------------
+                case ARRAY -> {
+                    int count = code[ip++];
+                    ArrayList<Value> elements = new ArrayList<>(Arrays.asList(stack).subList(sp - count, sp));
+                    sp -= count;
+                    push(new ArrayValue(elements));
+                }
+                case CHECK_ARRAY -> {
+                    Value arr = stack[sp - 1];
+                    if (arr.getType() != ARR)
+                        error("Cannot treat lexeme of type " + arr.getType() + " as an array.", arr.getLine());
+                }
+                case INDEX -> {
+                    Value index = pop();
+                    ArrayValue arr = (ArrayValue) pop();
+                    push(arr.get(realIndex(arr, index)));
+                }
+                case INDEX_SET -> {
+                    Value value = pop();
+                    Value index = pop();
+                    ArrayValue arr = (ArrayValue) pop();
+                    arr.set(realIndex(arr, index), value);
+                }
+                case OpCode.RANGE -> {
+                    Value second = pop();
+                    Value first = pop();
+                    push(toRange(first, second, frame.chunk.getLine(start)));
+                }
+
+                // ------------ Functions ------------
+                case CLOSURE -> {
+                    Prototype function = frame.chunk.getFunctions()[code[ip++]];
+                    Environment newEnv = env.getFunctionEnv(function.getCaptures(), function.getCaptureDepths(),
+                            function.getCaptureSlots());
+                    Closure closure = new Closure(function, newEnv);
+                    env.add(function.getName(), closure);
+                    newEnv.add(function.getName(), closure);
+                    push(closure);
+                }
+                case CHECK_CALLABLE -> {
+                    boolean functionsOnly = code[ip++] == 1;
+                    Value callee = stack[sp - 1];
+                    if (callee.getType() != FUNC && (functionsOnly || callee.getType() != BUILT_IN_FUNC))
+                        error("Cannot call a lexeme of type " + callee.getType() + " as a function",
+                                frame.chunk.getLine(start));
+                }
+                case CALL, CALL_LIST -> {
+                    int line = frame.chunk.getLine(start);
+                    int argCount;
+                    if (code[start] == CALL) {
+                        argCount = code[ip++];
+                    } else {
+                        ArrayList<Value> argList = ((ArrayValue) pop()).toList();
+                        for (Value arg : argList) push(arg);
+                        argCount = argList.size();
+                    }
+                    int base = sp - argCount - 1;
+                    Value callee = stack[base];
+                    if (callee.getType() == BUILT_IN_FUNC) {
+                        BuiltInValue builtIn = (BuiltInValue) callee;
+                        Value result = switch (argCount) {
+                            case 0 -> builtIn.call0(line);
+                            case 1 -> builtIn.call1(stack[base + 1], line);
+                            case 2 -> builtIn.call2(stack[base + 1], stack[base + 2], line);
+                            default -> builtIn.call(new ArrayList<>(Arrays.asList(stack).subList(base + 1, sp)), line);
+                        };
+                        sp = base;
+                        push(result);
+                    } else if (callee instanceof Closure closure) {
+                        frame.ip = ip;
+                        frame.env = env;
+                        frame = new CallFrame(closure.getPrototype().getChunk(), bindArgs(closure, base, line), base,
+                                NULL_VALUE);
+                        pushFrame(frame);
+                        code = frame.chunk.getCode();
+                        constants = frame.chunk.getConstants();
+                        values = frame.chunk.getValues();
+                        env = frame.env;
+                        ip = 0;
+                    } else {
+                        error("Cannot call a lexeme of type " + callee.getType() + " as a function", line);
+                    }
+                }
+                case OpCode.ARG_LIST -> push(ArrayValue.generic());   // collects the arguments as they are
+                case ARG_APPEND -> {
+                    Value arg = pop();
+                    ((ArrayValue) stack[sp - 1]).add(arg);
+                }
+                case ARG_UNPACK -> {
+                    Value arr = pop();
+                    if (arr.getType() != ARR)
+                        error("Can only use the unpack operator (*) on arrays.", constants[code[ip]]);
+                    ip++;
+                    ((ArrayValue) stack[sp - 1]).addAll((ArrayValue) arr);
+                }
+                case OpCode.RETURN, RETURN_RESULT -> {
+                    Value value = code[start] == OpCode.RETURN ? pop() : frame.result;
+                    frameCount--;
+                    if (frameCount == 0) return value;   // returning from the script ends the program
+                    sp = frame.base;
+                    frame = frames[frameCount - 1];
+                    code = frame.chunk.getCode();
+                    constants = frame.chunk.getConstants();
+                    values = frame.chunk.getValues();
+                    env = frame.env;
+                    ip = frame.ip;
+                    push(value);
+                }
+
+                // ------------ Statements ------------
+                case RESULT -> frame.result = pop();
+                case NULL_RESULT -> frame.result = NULL_VALUE;
+                case CANNOT_EVALUATE -> error("Cannot evaluate " + constants[code[ip]], frame.chunk.getLine(start));
+
+                default -> error("Unknown instruction " + code[start], frame.chunk.getLine(start));
+            }
+        }
+    }
+
+    // ------------ Helpers ------------
+    private void push(Value value) {
+        if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+        stack[sp++] = value;
+    }
+
+    private Value pop() {
+        return stack[--sp];
+    }
+
+    private void pushFrame(CallFrame frame) {
+        if (frameCount == frames.length) frames = Arrays.copyOf(frames, frameCount * 2);
+        frames[frameCount++] = frame;
+    }
+
+    private void binary(Operator operator, int line) {
+        Value right = pop();
+        Value left = pop();
+        push(BinaryOperators.apply(operator, left, right, line));
+    }
+
+    private Environment bindArgs(Closure closure, int base, int line) {
+        Prototype function = closure.getPrototype();
+        int argCount = sp - base - 1;
+        Environment callEnv = new Environment(closure.getDefiningEnv());
+        if (function.takesArbitraryArgs()) {
+            callEnv.add(function.getParam(0), new ArrayValue(new ArrayList<>(Arrays.asList(stack).subList(base + 1, sp))));
+        } else {
+            if (argCount != function.getArity())
+                error("Expected " + function.getArity() + " children supplied to function call, but " +
+                        "received " + argCount + ".", line);
+            for (int i = 0; i < argCount; i++) callEnv.localAdd(function.getParam(i), stack[base + 1 + i]);
+        }
+        return callEnv;
+    }
+
+    private int realIndex(ArrayValue arr, Value index) {
+        if (index.getType() != INT_LIT)
+            error("Cannot index into array with lexeme of type " + index.getType() + ".", arr.getLine());
+        int realIndex = index.getIntValue();
+        if (realIndex < 0)
+            realIndex = arr.size() - Math.abs(realIndex);
+        if (0 > realIndex || arr.size() <= realIndex)
+            error("Index " + index.getIntValue() + " out of bounds for array of length " + arr.size(), arr.getLine());
+        return realIndex;
+    }
+
+    private Iterator<Value> toIterable(Value value) {
+        if (value.getType() == ARR) {
+            return ((ArrayValue) value).iterator();   // live, as in Evaluator: sees elements set during the loop
+        } else if (value.getType() == STRING_LIT) {
+            return ((StringValue) value).iterator();
+        } else if (value.getType() == INT_LIT) {
+            return RangeValue.count(0, Math.max(value.getIntValue(), 0));
+        }
+        return Collections.emptyIterator();
+    }
+
+    private RangeValue toRange(Value first, Value second, int line) {
+        if (first.getType() != INT_LIT)
+            error("RANGE operands must be integers.", first);
+        if (second.getType() != INT_LIT)
+            error("RANGE operands must be integers.", second);
+        if (Math.abs((long) second.getIntValue() - first.getIntValue()) > Integer.MAX_VALUE)
+            error("RANGE cannot hold more than " + Integer.MAX_VALUE + " numbers.", first);
+        return new RangeValue(line, first.getIntValue(), second.getIntValue());
+    }
+
+    // ----------- Error Reporting -----------
+    private Value error(String message, Lexeme lex) {
+        Readable.runtimeError(message, lex);
+        return NULL_VALUE;
+    }
+
+    private Value error(String message, Value value) {
+        Readable.runtimeError(message, value);
+        return NULL_VALUE;
+    }
+
+    private Value error(String message, int lineNumber) {
+        Readable.runtimeError(message, lineNumber);
+        return NULL_VALUE;
+    }
+}
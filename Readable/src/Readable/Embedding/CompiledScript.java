@@ -0,0 +1,65 @@
+package Readable.Embedding;
+
+import Readable.Bytecode.Chunk;
+import Readable.Bytecode.VM;
+import Readable.Environments.BuiltInTable;
+import Readable.Environments.Environment;
+import Readable.Evaluating.Evaluator;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.SymbolTable;
+import Readable.LexicalAnalysis.Types;
+import Readable.ReadableException;
+import Readable.Values.Value;
+
+import java.util.List;
+
+public class CompiledScript {
+    // A program lexed, parsed and resolved once (and, for the VM, compiled) by ReadableEngine.compile, to be run any
+    // number of times. Every run gets a fresh global environment holding just the script's inputs, so runs cannot see
+    // each other's globals. The tree-walker keeps one evaluator for all of them, so operator specializations and JIT
+    // profiles carry over from run to run. A script is for the thread using its engine.
+
+    // ------------ Instance Variables ------------
+    private final Lexeme program;
+    private final Chunk chunk;             // null when run by the tree-walker
+    private final BuiltInTable builtIns;
+    private final Lexeme[] inputs;         // the globals a run starts with, in slot order
+    private final Evaluator evaluator;     // null when run by the VM
+    private final ErrorLog errors;         // the engine's
+
+    // ------------ Constructor ------------
+    CompiledScript(Lexeme program, Chunk chunk, BuiltInTable builtIns, List<String> inputs, SymbolTable symbols,
+                   ErrorLog errors) {
+        this.program = program;
+        this.chunk = chunk;
+        this.builtIns = builtIns;
+        this.inputs = new Lexeme[inputs.size()];
+        for (int i = 0; i < this.inputs.length; i++)
+            this.inputs[i] = new Lexeme(Types.IDENTIFIER, -1, symbols.intern(inputs.get(i)));
+        this.evaluator = chunk == null ? new Evaluator() : null;
+        this.errors = errors;
+    }
+
+    // ------------ Running ------------
+    // One value per input named at compile time, in that order. Returns what a top-level return gave (null otherwise);
+    // errors are added to the engine's and thrown, as in ReadableEngine.run.
+    public Value run(Value... values) {
+        if (values.length != inputs.length)
+            throw new IllegalArgumentException("Expected " + inputs.length + " inputs, but received " + values.length
+                    + ".");
+        Environment globals = new Environment(builtIns);
+        for (int i = 0; i < inputs.length; i++) globals.add(inputs[i], values[i]);
+        try {
+            if (chunk != null) return new VM().run(chunk, globals);
+            return evaluator.run(program, globals);
+        } catch (ReadableException error) {
+            errors.record(error);
+            throw error;
+        }
+    }
+
+    // ------------ Getters ------------
+    public Lexeme getProgram() {return program;}
+
+    public int getInputCount() {return inputs.length;}
+}
@@ -0,0 +1,38 @@
+package Readable.Embedding;
+
+import Readable.ReadableException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+class ErrorLog {
+    // An engine's record of errors, its own runs' and its scripts'. Only the most recent are kept, up to the capacity,
+    // so an engine that runs failing programs for as long as its host lives holds a bounded number of them. Like its
+    // engine, it is for one thread at a time.
+
+    // ------------ Instance Variables ------------
+    private final ArrayDeque<ReadableException> errors = new ArrayDeque<>();
+    private final int capacity;
+
+    // ------------ Constructor ------------
+    ErrorLog(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // ------------ Log Functions ------------
+    void record(ReadableException error) {
+        if (errors.size() == capacity) errors.removeFirst();
+        errors.addLast(error);
+    }
+
+    List<ReadableException> recent() {   // oldest first
+        return List.copyOf(errors);
+    }
+
+    List<ReadableException> drain() {
+        List<ReadableException> drained = new ArrayList<>(errors);
+        errors.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,166 @@
+package Readable.Embedding;
+
+import Readable.Bytecode.Chunk;
+import Readable.Bytecode.Compiler;
+import Readable.Bytecode.VM;
+import Readable.Environments.BuiltInTable;
+import Readable.Environments.Environment;
+import Readable.Environments.NamedValue;
+import Readable.Evaluating.Evaluator;
+import Readable.Evaluating.Library.BuiltInInterface;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.LexicalAnalysis.SymbolTable;
+import Readable.LexicalAnalysis.Types;
+import Readable.Parsing.Parser;
+import Readable.ReadableException;
+import Readable.Resolving.Resolver;
+import Readable.Values.Value;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReadableEngine {
+    // Readable embedded in a Java program. Each engine has its own built-ins, its own standard output, its own
+    // global environment (kept from one run to the next, so the host can set values before a run and read results
+    // after it) and its own record of recent errors, which reach the host as ReadableExceptions. An engine, together
+    // with the scripts it compiles, is for one thread at a time, and none of it is synchronized; separate engines
+    // share nothing a program can change, so they can run at once on separate threads.
+
+    public enum Backend {TREE, VM}
+
+    // ------------ Static Variables ------------
+    private static final int DEFAULT_CACHE_SIZE = 64;
+    private static final int ERRORS_KEPT = 100;
+
+    // ------------ Instance Variables ------------
+    private final Backend backend;
+    private final BuiltInTable builtIns;
+    private final Environment globals;
+    private final ErrorLog errors = new ErrorLog(ERRORS_KEPT);
+    private final ScriptCache scripts;
+    private final SymbolTable symbols = new SymbolTable();   // shared by every program run here, and its globals
+
+    // ------------ Constructors ------------
+    public ReadableEngine() {
+        this(Backend.TREE, System.out);
+    }
+
+    public ReadableEngine(Backend backend, PrintStream out) {
+        this(backend, out, DEFAULT_CACHE_SIZE);
+    }
+
+    public ReadableEngine(Backend backend, PrintStream out, int cacheSize) {
+        this.backend = backend;
+        this.builtIns = new BuiltInTable(out);
+        this.globals = new Environment(builtIns);
+        this.scripts = new ScriptCache(cacheSize);
+    }
+
+    // ------------ Running ------------
+    // Lexes, parses, resolves and runs a whole program in this engine's globals, returning what a top-level return
+    // gave (null otherwise). A syntax or runtime error stops it, is added to getErrors and is thrown on; whatever
+    // globals the program had set by then stay set.
+    public Value run(String source) {
+        return runOwn(parse(source));
+    }
+
+    // The same for a tree from the Parser, a TreeLoader (a precompiled .readc file) or a ParsedSource. A copy of it is
+    // resolved and run, so the tree itself is left as it was and may be run or compiled again, here or elsewhere. Its
+    // names are quickest to look up if it was lexed or loaded against getSymbols.
+    public Value run(Lexeme program) {
+        return runOwn(program.copyTree());
+    }
+
+    private Value runOwn(Lexeme program) {   // a tree nothing else holds, resolved in place
+        try {
+            new Resolver(builtIns).resolve(program, globalNames());
+            if (backend == Backend.VM) return new VM().run(new Compiler().compile(program), globals);
+            return new Evaluator().eval(program, globals);
+        } catch (ReadableException error) {
+            errors.record(error);
+            throw error;
+        }
+    }
+
+    // The script for this source, taking the named inputs, from the cache if it has been compiled already. Scripts do
+    // not share this engine's globals; see CompiledScript. Syntax errors are recorded and thrown as in run.
+    public CompiledScript compile(String source, String... inputs) {
+        List<String> inputNames = List.of(inputs);
+        CompiledScript script = scripts.get(source, inputNames);
+        if (script != null) return script;
+        script = compileOwn(parse(source), inputNames);
+        scripts.put(source, inputNames, script);
+        return script;
+    }
+
+    // The same for a tree from the Parser, a TreeLoader or a ParsedSource, which is not cached. As in run, the script
+    // gets a copy of its own, so compiling the same tree again leaves this script as it was.
+    public CompiledScript compile(Lexeme program, String... inputs) {
+        return compileOwn(program.copyTree(), List.of(inputs));
+    }
+
+    private CompiledScript compileOwn(Lexeme program, List<String> inputs) {   // as runOwn
+        try {
+            new Resolver(builtIns).resolve(program, inputs);
+            Chunk chunk = backend == Backend.VM ? new Compiler().compile(program) : null;
+            return new CompiledScript(program, chunk, builtIns, inputs, symbols, errors);
+        } catch (ReadableException error) {
+            errors.record(error);
+            throw error;
+        }
+    }
+
+    private Lexeme parse(String source) {
+        try {
+            return new Parser(new Lexer(source, symbols)).program();
+        } catch (ReadableException error) {
+            errors.record(error);
+            throw error;
+        }
+    }
+
+    private List<String> globalNames() {   // in slot order, which is what the Resolver numbers on from
+        ArrayList<String> names = new ArrayList<>();
+        for (NamedValue entry : globals.seeEntries()) names.add(entry.getName().getStringValue());
+        return names;
+    }
+
+    // ------------ Host Access ------------
+    // Programs run after a define see the new built-in; like the standard ones, it cannot be assigned to. Cached
+    // scripts were resolved without it, so they are dropped.
+    public void define(String name, BuiltInInterface function) {
+        builtIns.define(name, function);
+        scripts.clear();
+    }
+
+    // Throws a ReadableException if the name is not defined; these are not recorded in getErrors.
+    public Value get(String name) {
+        return globals.lookup(new Lexeme(Types.IDENTIFIER, -1, symbols.intern(name)));
+    }
+
+    public void set(String name, Value value) {
+        globals.addOrUpdate(new Lexeme(Types.IDENTIFIER, -1, symbols.intern(name)), value);
+    }
+
+    public SymbolTable getSymbols() {return symbols;}
+
+    // The errors recorded since the last drainErrors, oldest first; only the last 100 are kept.
+    public List<ReadableException> getErrors() {
+        return errors.recent();
+    }
+
+    // The same, forgetting them: for a host that handles errors as it goes.
+    public List<ReadableException> drainErrors() {
+        return errors.drain();
+    }
+
+    // ------------ Script Cache ------------
+    // A compile that found its script counts as a hit; one that had to parse it, as a miss.
+    public long getCacheHits() {return scripts.getHits();}
+
+    public long getCacheMisses() {return scripts.getMisses();}
+
+    public int getCachedScripts() {return scripts.size();}
+}
@@ -0,0 +1,70 @@
+package Readable.Embedding;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+class ScriptCache {
+    // An engine's compiled scripts, keyed by source text and input names and evicted least recently used first once
+    // there are more than the capacity. Lookups hash the source (String caches its hash, so the same string is hashed
+    // once) and compare it in full, so two scripts never share an entry.
+
+    // ------------ Instance Variables ------------
+    private final Map<Key, CompiledScript> scripts;
+    private long hits = 0;
+    private long misses = 0;
+
+    // ------------ Constructor ------------
+    ScriptCache(int capacity) {
+        this.scripts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompiledScript> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // ------------ Cache Functions ------------
+    CompiledScript get(String source, List<String> inputs) {
+        CompiledScript script = scripts.get(new Key(source, inputs));
+        if (script != null) hits++;
+        else misses++;
+        return script;
+    }
+
+    void put(String source, List<String> inputs, CompiledScript script) {
+        scripts.put(new Key(source, inputs), script);
+    }
+
+    void clear() {
+        scripts.clear();
+    }
+
+    int size() {return scripts.size();}
+
+    long getHits() {return hits;}
+
+    long getMisses() {return misses;}
+
+    // ------------ Keys ------------
+    private static final class Key {
+        private final String source;
+        private final List<String> inputs;
+
+        Key(String source, List<String> inputs) {
+            this.source = source;
+            this.inputs = inputs;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && source.equals(key.source) && inputs.equals(key.inputs);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, inputs);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package Readable.Environments;
+
+import Readable.Evaluating.Library.BuiltInInterface;
+import Readable.Evaluating.Library.BuiltIns;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.BuiltInValue;
+import Readable.Values.Value;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class BuiltInTable {
+    // The built-in functions one program (or one embedding engine) can see, and where its print writes. Every
+    // environment carries the table of the global environment it descends from. The standard table prints to
+    // whatever System.out is at the time and cannot be added to; an engine makes its own.
+
+    // ------------ Static Variables ------------
+    private static final BuiltInTable STANDARD = new BuiltInTable(null);
+
+    // ------------ Instance Variables ------------
+    private final Map<String, Value> builtIns = new HashMap<>();
+    private final PrintStream out;   // null for System.out, looked up on every print
+
+    // ------------ Constructor ------------
+    public BuiltInTable(PrintStream out) {
+        this.out = out;
+        builtIns.put("len", new BuiltInValue(BuiltInInterface.unary(BuiltIns::len, BuiltIns::len)));
+        builtIns.put("type", new BuiltInValue(BuiltInInterface.unary(BuiltIns::type, BuiltIns::type)));
+        builtIns.put("print", new BuiltInValue(BuiltInInterface.unary(
+                (args, line) -> BuiltIns.print(out(), args, line),
+                (arg, line) -> BuiltIns.print(out(), arg, line))));
+        builtIns.put("sum", new BuiltInValue(BuiltInInterface.binary(BuiltIns::sum, BuiltIns::sum)));
+        builtIns.put("divide", new BuiltInValue(BuiltInInterface.binary(BuiltIns::divide, BuiltIns::divide)));
+        builtIns.put("multiply", new BuiltInValue(BuiltInInterface.binary(BuiltIns::multiply, BuiltIns::multiply)));
+        builtIns.put("subtract", new BuiltInValue(BuiltInInterface.binary(BuiltIns::subtract, BuiltIns::subtract)));
+        builtIns.put("AND", new BuiltInValue(BuiltInInterface.binary(BuiltIns::AND, BuiltIns::AND)));
+        builtIns.put("OR", new BuiltInValue(BuiltInInterface.binary(BuiltIns::OR, BuiltIns::OR)));
+        builtIns.put("NOT", new BuiltInValue(BuiltInInterface.unary(BuiltIns::NOT, BuiltIns::NOT)));
+        builtIns.put("truthy", new BuiltInValue(BuiltInInterface.unary(BuiltIns::truthy, BuiltIns::truthy)));
+    }
+
+    public static BuiltInTable standard() {return STANDARD;}
+
+    // ------------ Table Functions ------------
+    // Programs already resolved against this table keep treating the name as whatever it was then.
+    public void define(String name, BuiltInInterface function) {
+        if (this == STANDARD) throw new UnsupportedOperationException("The standard built-ins cannot be changed.");
+        builtIns.put(name, new BuiltInValue(function));
+    }
+
+    public boolean contains(String name) {
+        return builtIns.containsKey(name);
+    }
+
+    public Value get(String name) {
+        return builtIns.get(name);
+    }
+
+    public Value get(Lexeme identifier) {
+        return builtIns.get(identifier.getStringValue());
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(builtIns.keySet());
+    }
+
+    public PrintStream out() {
+        return out != null ? out : System.out;
+    }
+}
@@ -1,59 +1,74 @@
 package Readable.Environments;
 
 import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Symbol;
 import Readable.LexicalAnalysis.Types;
 
 import java.util.*;
 
-import Readable.Evaluating.Library.BuiltInInterface;
-import Readable.Evaluating.Library.BuiltIns;
+import Readable.Values.NullValue;
+import Readable.Values.Value;
 import Readable.Readable;
 
 public class Environment {
-    // ------------ Static Variables ------------
-    private static final Map<String, Lexeme> builtIns = new HashMap<>();
-    static {
-        BuiltInInterface c = (args, line, env) -> (BuiltIns.len(args, line, env)); builtIns.put("len", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.type(args, line, env)); builtIns.put("type", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.print(args, line, env)); builtIns.put("print", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.sum(args, line, env)); builtIns.put("sum", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.divide(args, line, env)); builtIns.put("divide", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.multiply(args, line, env)); builtIns.put("multiply", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.subtract(args, line, env)); builtIns.put("subtract", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.AND(args, line, env)); builtIns.put("AND", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.OR(args, line, env)); builtIns.put("OR", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.NOT(args, line, env)); builtIns.put("NOT", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-        c = (args, line, env) -> (BuiltIns.truthy(args, line, env)); builtIns.put("truthy", new Lexeme(Types.BUILT_IN_FUNC, -1, c));
-    }
-
     // ------------ Instance Variables ------------
+    // Frames are array-backed: a binding's slot is the order in which it was declared, which is what the Resolver
+    // predicts statically. Names are kept alongside the values for unresolved (by-name) lookups. A binding a closure
+    // captures moves into a Cell, which the frame and the closure then share, so each sees what the other assigns.
+    private static final int INITIAL_CAPACITY = 4;
+
     private final Environment parent;
-    private final ArrayList<NamedValue> entries;
+    private final BuiltInTable builtIns;   // the global environment's, shared by everything below it
+    private Lexeme[] names;
+    private Value[] values;
+    private Cell[] cells;   // null until a binding here is captured; then a slot with a cell keeps its value there
+    private int size;
+
+    private static final class Cell {
+        private Value value;
+
+        private Cell(Value value) {this.value = value;}
+    }
 
     // ------------ Constructors ------------
     public Environment() {
-        this(null);
+        this(BuiltInTable.standard());
+    }
+
+    // A global environment whose programs see the given built-ins.
+    public Environment(BuiltInTable builtIns) {
+        this(null, builtIns);
     }
 
     public Environment(Environment parent) {
+        this(parent, parent.builtIns);
+    }
+
+    private Environment(Environment parent, BuiltInTable builtIns) {
         this.parent = parent;
-        this.entries = new ArrayList<>();
+        this.builtIns = builtIns;
+        this.names = new Lexeme[INITIAL_CAPACITY];
+        this.values = new Value[INITIAL_CAPACITY];
+        this.size = 0;
     }
 
     // ------------ Core Environment Functions ------------
-    private Lexeme softLookup(Lexeme identifier) {
-        for (NamedValue namedValue : entries) {
-            if (namedValue.getName().getStringValue().equals(identifier.getStringValue())) {
-                return namedValue.getValue();
-            }
+    private int indexOf(Lexeme identifier) {   // names lexed against one SymbolTable match by identity
+        Symbol name = identifier.getSymbol();
+        for (int i = 0; i < size; i++) {
+            if (names[i].getSymbol().equals(name)) return i;
         }
-        if (builtIns.containsKey(identifier.getStringValue()))
-            return builtIns.get(identifier.getStringValue());
-        return null;
+        return -1;
+    }
+
+    private Value softLookup(Lexeme identifier) {
+        int index = indexOf(identifier);
+        if (index >= 0) return valueAt(index);
+        return builtIns.get(identifier);
     }
 
-    private Lexeme scaleLookup(Lexeme identifier) {
-        Lexeme value = softLookup(identifier);
+    private Value scaleLookup(Lexeme identifier) {
+        Value value = softLookup(identifier);
         if (value == null) {
             if (parent != null) return parent.scaleLookup(identifier);
             return null;
@@ -61,19 +76,48 @@ public class Environment {
         return value;
     }
 
-    public Lexeme lookup(Lexeme identifier) {
-        Lexeme value = scaleLookup(identifier);
+    public Value lookup(Lexeme identifier) {
+        Value value = scaleLookup(identifier);
         if (value == null)
             error("'" + identifier.getStringValue() + "' is undefined.", identifier.getLine());
         return value;
     }
 
-    private void unrestrainedAdd(Lexeme identifier, Lexeme value) {
-        entries.add(new NamedValue(identifier));
-        if (value != null) update(identifier, value);
+    private void unrestrainedAdd(Lexeme identifier, Value value) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            if (cells != null) cells = Arrays.copyOf(cells, size * 2);
+        }
+        names[size] = identifier;
+        values[size] = (value != null) ? value : NullValue.NULL;
+        size++;
+    }
+
+    private void addCell(Lexeme identifier, Cell cell) {
+        unrestrainedAdd(identifier, null);
+        if (cells == null) cells = new Cell[names.length];
+        cells[size - 1] = cell;
     }
 
-    public void add(Lexeme identifier, Lexeme value) {
+    private Value valueAt(int slot) {
+        Cell cell = cells == null ? null : cells[slot];
+        return cell == null ? values[slot] : cell.value;
+    }
+
+    private void setAt(int slot, Value value) {
+        Cell cell = cells == null ? null : cells[slot];
+        if (cell == null) values[slot] = value;
+        else cell.value = value;
+    }
+
+    private Cell cellAt(int slot) {   // moving the binding into one if it is not in one yet
+        if (cells == null) cells = new Cell[names.length];
+        if (cells[slot] == null) cells[slot] = new Cell(values[slot]);
+        return cells[slot];
+    }
+
+    public void add(Lexeme identifier, Value value) {
         if (scaleLookup(identifier) != null) {
             error("A variable with name '" + identifier.getStringValue() + "' is already defined and cannot be " +
                     "re-declared.", identifier.getLine());
@@ -82,7 +126,7 @@ public class Environment {
         }
     }
 
-    public void localAdd(Lexeme identifier, Lexeme value) {
+    public void localAdd(Lexeme identifier, Value value) {
         if (softLookup(identifier) != null) {
             error("A variable with name '" + identifier.getStringValue() + "' is already defined and cannot be " +
                     "re-declared.", identifier.getLine());
@@ -95,20 +139,19 @@ public class Environment {
         add(identifier, null);
     }
 
-    public void update(Lexeme identifier, Lexeme newValue) {
+    public void update(Lexeme identifier, Value newValue) {
         lookup(identifier);  // raises error if undefined
-        for (NamedValue namedValue : entries) {
-            if (namedValue.getName().getStringValue().equals(identifier.getStringValue())) {
-                namedValue.setValue(newValue);
-                return;
-            }
+        int index = indexOf(identifier);
+        if (index >= 0) {
+            setAt(index, newValue);
+            return;
         }
         if (parent != null) {
             parent.update(identifier, newValue);
         }
     }
 
-    public void addOrUpdate(Lexeme identifier, Lexeme value) {
+    public void addOrUpdate(Lexeme identifier, Value value) {
         if (scaleLookup(identifier) != null) {
             update(identifier, value);
         } else {
@@ -116,13 +159,91 @@ public class Environment {
         }
     }
 
+    // ------------ Resolved Access ------------
+    private Environment ancestor(int depth) {
+        Environment env = this;
+        for (int i = 0; i < depth && env != null; i++) env = env.parent;
+        return env;
+    }
+
+    private Environment root() {
+        Environment env = this;
+        while (env.parent != null) env = env.parent;
+        return env;
+    }
+
+    // A resolved access goes straight to its slot when that slot holds the identifier's name. Otherwise the frames
+    // are not laid out as the Resolver predicted, and it falls back on the by-name path rather than touch some
+    // other binding.
+    public Value lookupAt(int depth, int slot, Lexeme identifier) {
+        Environment env = ancestor(depth);
+        if (env != null && env.holds(slot, identifier)) return env.valueAt(slot);
+        return lookup(identifier);
+    }
+
+    public void assignAt(int depth, int slot, Lexeme identifier, Value value) {
+        Environment env = ancestor(depth);
+        if (env != null && env.holds(slot, identifier)) env.setAt(slot, value);
+        else if (env == this && slot == size && indexOf(identifier) < 0) unrestrainedAdd(identifier, value);   // new
+        else addOrUpdate(identifier, value);
+    }
+
+    private boolean holds(int slot, Lexeme identifier) {
+        return slot < size && names[slot].getSymbol().equals(identifier.getSymbol());
+    }
+
+    public Value lookupBuiltIn(Lexeme identifier) {
+        return builtIns.get(identifier);
+    }
+
     // ------------ Misc ------------
     public boolean isGlobal() {
         return this.parent == null;
     }
 
+    public Environment getParent() {
+        return parent;
+    }
+
+    public BuiltInTable getBuiltIns() {
+        return builtIns;
+    }
+
+    // The environment a function defined here closes over: only the bindings the Resolver found it names (captures,
+    // expected at the given depths and slots), each sharing its cell with the frame it is in, over the root of this
+    // chain (the global environment, or a global function's). The frames in between are not kept. A global
+    // definition keeps just the values of those holding functions. Without that analysis, everything is captured.
+    public Environment getFunctionEnv(Lexeme[] captures, int[] depths, int[] slots) {
+        if (captures == null) return getFunctionEnv();
+        Environment newEnv = new Environment(isGlobal() ? null : root(), builtIns);
+        for (int i = 0; i < captures.length; i++) {
+            Environment env = ancestor(depths[i]);
+            if (env == null) continue;
+            int index = env.holds(slots[i], captures[i]) ? slots[i] : env.indexOf(captures[i]);
+            if (index < 0) continue;
+            if (!isGlobal()) newEnv.addCell(env.names[index], env.cellAt(index));   // declared once already
+            else if (valueAt(index).getType() == Types.FUNC) newEnv.unrestrainedAdd(names[index], valueAt(index));
+        }
+        return newEnv;
+    }
+
+    public Environment getFunctionEnv() {
+        if (!isGlobal()) return copy();
+        Environment newEnv = new Environment(null, builtIns);
+        for (int i = 0; i < size; i++) {
+            if (valueAt(i).getType() == Types.FUNC) newEnv.add(names[i], valueAt(i));
+        }
+        return newEnv;
+    }
+
     public ArrayList<NamedValue> seeEntries() {
-        return (ArrayList<NamedValue>) entries.clone();
+        ArrayList<NamedValue> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            NamedValue namedValue = new NamedValue(names[i]);
+            namedValue.setValue(valueAt(i));
+            entries.add(namedValue);
+        }
+        return entries;
     }
 
     public String toString() {
@@ -133,10 +254,10 @@ public class Environment {
             str += "\n    Parent: " + parent.hashCode();
         str += "\n    Values:";
         str += "\n    ------------";
-        for (NamedValue namedValue : entries) {
+        for (NamedValue namedValue : seeEntries()) {
             str += "\n    " + namedValue.toString();
         }
-        for (String builtIn : builtIns.keySet()) {
+        for (String builtIn : builtIns.names()) {
             str += "\n    " + builtIn + ": [bltIn] (BUILT_IN_FUNC)";
         }
         str += "\n";
@@ -145,9 +266,9 @@ public class Environment {
     }
 
     public Environment copy() {
-        Environment newEnv = new Environment(this.parent);
+        Environment newEnv = new Environment(this.parent, builtIns);
         for (NamedValue v : seeEntries()) {
-            newEnv.add(v.getName().copy(), v.getValue().copy());
+            newEnv.add(v.getName(), v.getValue());   // values are shared, not copied
         }
         return newEnv;
     }
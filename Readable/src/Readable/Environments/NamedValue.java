@@ -1,31 +1,32 @@
 package Readable.Environments;
 
 import Readable.LexicalAnalysis.Lexeme;
-import Readable.LexicalAnalysis.Types;
+import Readable.Values.NullValue;
+import Readable.Values.Value;
 
 public class NamedValue {
     // ------------ Instance Variables ------------
     private final Lexeme name;
-    private Lexeme value;
+    private Value value;
 
     // ------------ Constructors ------------
     public NamedValue(Lexeme name) {
         this.name = name;
-        this.value = new Lexeme(Types.NULL);
+        this.value = NullValue.NULL;
     }
 
     // ------------ Getters and Setters ------------
 
     public Lexeme getName() {return name;}
 
-    public Lexeme getValue() {return value;}
+    public Value getValue() {return value;}
 
-    public void setValue(Lexeme lex) {value = lex;}
+    public void setValue(Value lex) {value = lex;}
 
     // ------------ toString ------------
 
     public String toString() {
-        return name.printRepr() + ": " + value.printRepr();
+        return name.getStringValue() + ": " + value.printRepr();
     }
 
 
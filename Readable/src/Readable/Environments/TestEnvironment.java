@@ -2,6 +2,9 @@ package Readable.Environments;
 
 import Readable.LexicalAnalysis.Lexeme;
 import Readable.LexicalAnalysis.Types;
+import Readable.Values.IntValue;
+import Readable.Values.StringValue;
+import Readable.Values.Value;
 
 public class TestEnvironment {
     public static void main(String[] args) {  // NOTE: You must comment out errors to reach code below.
@@ -9,25 +12,25 @@ public class TestEnvironment {
         Environment env2 = new Environment(globalEnv);
 
         Lexeme iden = new Lexeme(Types.IDENTIFIER, -1, "var");
-        Lexeme val = new Lexeme(Types.STRING_LIT, -1, "Cat");
+        Value val = new StringValue(-1, "Cat");
         globalEnv.add(iden, val);
         System.out.println(globalEnv.lookup(iden));  // "cat"
 
 //        System.out.println(globalEnv.lookup(new Lexeme(Types.IDENTIFIER, -1, "zer")));  // error
 //        globalEnv.add(iden, val);  // error
 
-        env2.update(iden, new Lexeme(Types.STRING_LIT, 2, "wnwn"));
+        env2.update(iden, new StringValue(2, "wnwn"));
         System.out.println(env2.lookup(iden));  // wnwn
         System.out.println(globalEnv.lookup(iden));  // wnwn
 
         Lexeme iden2 = new Lexeme(Types.IDENTIFIER, -1, "var2");
-        Lexeme val2 = new Lexeme(Types.INT_LIT, -1, 3);
+        Value val2 = new IntValue(-1, 3);
         globalEnv.add(iden2);
         env2.update(iden2, val2);
         System.out.println(env2.lookup(iden2));  // 3.0
 
         Lexeme iden3 = new Lexeme(Types.IDENTIFIER, -1, "var3");
-        Lexeme val3 = new Lexeme(Types.INT_LIT, -1, 30);
+        Value val3 = new IntValue(-1, 30);
         globalEnv.add(iden3);
         env2.update(iden3, val3);
         System.out.println(env2.lookup(iden3));  // "30"
@@ -1,184 +1,200 @@
 package Readable.Evaluating;
 
 import Readable.Environments.Environment;
-import Readable.Environments.NamedValue;
 import Readable.LexicalAnalysis.Lexeme;
 import Readable.LexicalAnalysis.Types;
 
+import Readable.Evaluating.Library.BinaryOperators;
+import Readable.Evaluating.Library.BinaryOperators.Operator;
 import Readable.Evaluating.Library.BuiltIns;
+import Readable.Jit.CompiledFunction;
+import Readable.Jit.JitCompiler;
+import Readable.Jit.Profile;
 import Readable.Readable;
+import Readable.Values.*;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 import static Readable.LexicalAnalysis.Types.*;
 
 public class Evaluator {
+    // Runs a resolved tree without writing to it. An evaluator is for one thread at a time; threads running the same
+    // tree each need their own, along with their own environments.
+
     // ----------- Instance Variables -----------
-    boolean returnDone = false;
+    private final Feedback feedback = new Feedback();   // what this evaluator has learned about the trees it runs
+    private Completion completion = Completion.NORMAL;   // how the statement that just ran ended
+    private FunctionValue tailFunction;   // a call left by evalTailCall for evalLexicalFunction to make
+    private ArrayList<Value> tailArgs;
+    private Lexeme tailCall;
 
     // ----------- Evaluating -----------
-    public Lexeme eval(Lexeme tree, Environment env) {
-        if (tree == null) return new Lexeme(Types.NULL);
+    // Runs a whole program. Unlike eval, this can follow a run that stopped on an error or a top-level return, so one
+    // evaluator (and what it has learned) can be used for any number of runs.
+    public Value run(Lexeme program, Environment globals) {
+        completion = Completion.NORMAL;
+        tailFunction = null;
+        tailArgs = null;
+        tailCall = null;
+        return eval(program, globals);
+    }
+
+    public Value eval(Lexeme tree, Environment env) {
+        if (tree == null) return NullValue.NULL;
         return switch (tree.getType()) {
             case PROG, RETURN -> eval(tree.getChild(0), env);
             case STATEMENT_LIST -> evalStatementList(tree, env);
-            case INT_LIT, TRUE, FALSE, FLOAT_LIT, STRING_LIT -> tree;
-            case IDENTIFIER -> env.lookup(tree);
+            case INT_LIT, TRUE, FALSE, FLOAT_LIT, STRING_LIT -> tree.toValue();
+            case IDENTIFIER -> lookup(tree, env);
             case ASS -> evalAss(tree, env);
             case PLUS, MINUS, TIMES, DIVIDE, NEGATE, GREATER_THAN_COMP, GREATER_OR_EQUAL_COMP,
                     LESS_OR_EQUAL_COMP, LESS_THAN_COMP, EQUALITY_COMP, NOT_EQUAL_COMP, AND, OR -> evalExpr(tree, env);
-            case NOT -> BuiltIns.NOT(tree.getChildren(), tree.getLine(), env);
+            case NOT -> BuiltIns.NOT(eval(tree.getChild(0), env), tree.getLine());
             case FOREACH -> evalForeach(tree, env);
-            case FUNC -> evalFunctionDefinition(tree, env);
+            case FUNC, LAMBDA -> evalFunctionDefinition(tree, env);
             case FUNC_CALL -> evalFunctionCall(tree, env);
             case WHILE -> evalWhileLoop(tree, env);
             case ARR -> evalArr(tree, env);
-            case LAMBDA -> evalLambdaInitialization(tree, env);
+            case RANGE -> evalRange(tree, env);
             case CONDITIONAL_BLOCK -> evalCond(tree, env);
             case ARR_ACC -> arrAcc(tree, env);
             case ARR_ASS -> arrAss(tree, env);
-
-            default -> defaultEval(tree, env);
+            default -> error("Cannot evaluate " + tree, tree.getLine());
         };
     }
 
-    private Lexeme defaultEval(Lexeme tree, Environment env) {
-        error("Cannot evaluate " + tree, tree.getLine()); return new Lexeme(NULL);}
+    // ----------- Completions -----------
+    // A return, break or continue sets the completion and every statement list it is in stops, up to the loop or
+    // function call it belongs to, which resets it. No exception or allocation is involved.
+    private enum Completion {NORMAL, RETURN, BREAK, CONTINUE}
 
-    private Lexeme evalStatementList(Lexeme tree, Environment env) {
-        Lexeme result = new Lexeme(Types.NULL);
+    private Value evalStatementList(Lexeme tree, Environment env) {
+        Value result = NullValue.NULL;
         for (Lexeme statement : tree.getChildren()) {
-            if (statement.getType() == RETURN) {
-                returnDone = true;
-                return eval(statement, env);
+            switch (statement.getType()) {
+                case RETURN -> {
+                    Value value = evalReturn(statement, env);  // calls inside the expression must not see the signal
+                    completion = Completion.RETURN;
+                    return value;
+                }
+                case BREAK -> completion = Completion.BREAK;
+                case CONTINUE -> completion = Completion.CONTINUE;
+                default -> result = eval(statement, env);
             }
-            result = eval(statement, env);
-            if (returnDone)
-                return result;   // propagates upwards; it's sort of clever for such a poorly-planned system (on my part)
+            if (completion != Completion.NORMAL) return result;
         }
         return result;
     }
 
-    private Lexeme evalAss(Lexeme tree, Environment env) {
+    private boolean loopEnds() {  // after a pass: a return carries on up to the function, the rest end here
+        if (completion == Completion.NORMAL) return false;
+        if (completion == Completion.RETURN) return true;
+        boolean broke = completion == Completion.BREAK;
+        completion = Completion.NORMAL;
+        return broke;
+    }
+
+    private Value evalReturn(Lexeme statement, Environment env) {
+        return statement.isTailCall() ? evalTailCall(statement.getChild(0), env) : eval(statement, env);
+    }
+
+    private Value lookup(Lexeme identifier, Environment env) {
+        if (identifier.isResolved()) return env.lookupAt(identifier.getDepth(), identifier.getSlot(), identifier);
+        if (identifier.isBuiltInReference()) return env.lookupBuiltIn(identifier);
+        return env.lookup(identifier);
+    }
+
+    private Value evalAss(Lexeme tree, Environment env) {
         Lexeme name = tree.getChild(0);
-        Lexeme expr = eval(tree.getChild(1), env);
-        env.addOrUpdate( name, expr);
-        return new Lexeme(NULL);
+        Value expr = eval(tree.getChild(1), env);
+        if (name.isResolved()) env.assignAt(name.getDepth(), name.getSlot(), name, expr);
+        else env.addOrUpdate(name, expr);
+        return NullValue.NULL;
     }
 
-    private Lexeme evalForeach(Lexeme tree, Environment env) {
+    private Value evalForeach(Lexeme tree, Environment env) {
         Lexeme iden = tree.getChild(0);
         Lexeme iter = tree.getChild(1);
         Lexeme block = tree.getChild(2);
-        for (Lexeme lex : toIterable(iter, env).getChildren()) {
+        boolean checked = false;
+        for (Iterator<Value> items = toIterable(iter, env); items.hasNext(); ) {
+            Value value = items.next();
             Environment subEnv = new Environment(env);
-            subEnv.add(iden, lex);
-            eval(block, subEnv);
+            if (iden.isResolved() && checked) {
+                subEnv.assignAt(0, iden.getSlot(), iden, value);  // the enclosing names cannot change between passes
+            } else {
+                subEnv.add(iden, value);
+                checked = true;
+            }
+            Value result = eval(block, subEnv);
+            if (loopEnds()) return completion == Completion.RETURN ? result : NullValue.NULL;
         }
-        return new Lexeme(Types.NULL);
+        return NullValue.NULL;
     }
 
-    private Lexeme evalWhileLoop(Lexeme tree, Environment env) {
+    private Value evalWhileLoop(Lexeme tree, Environment env) {
         Lexeme comp = tree.getChild(0);
         Lexeme block = tree.getChild(1);
         while (true) {
-            ArrayList<Lexeme> terms = new ArrayList<>();
-            terms.add(comp);
-            Lexeme evalComp = BuiltIns.truthy(terms, tree.getLine(), env);
+            Value evalComp = BuiltIns.truthy(eval(comp, env), tree.getLine());
             if (evalComp.getType() != TRUE && evalComp.getType() != FALSE)
                 error("While loop condition must evaluate to TRUE or FALSE", tree.getLine());
             if (evalComp.getType() == TRUE) {
                 Environment callEnv = new Environment(env);
-                eval(block, callEnv);
+                Value result = eval(block, callEnv);
+                if (loopEnds()) return completion == Completion.RETURN ? result : NullValue.NULL;
             } else {
                 break;
             }
         }
-        return new Lexeme(NULL);
+        return NullValue.NULL;
     }
 
-    private Lexeme toIterable(Lexeme tree, Environment env) {
-        if (tree.getType() == Types.IDENTIFIER) {
-            return toIterable(eval(tree, env), env);
-        } else if (tree.getType() == Types.ARR) {
-            if (tree.getChild(0).getType() == Types.EMPTY_LIST) {
-                return new Lexeme(Types.ARR);
-            }
-            return tree.getChild(0);
-        } else if (tree.getType() == Types.STRING_LIT) {
-            Lexeme arr = new Lexeme(Types.ARR);
-            for (char c : tree.getStringValue().toCharArray()) {
-                arr.addChild(new Lexeme(Types.STRING_LIT, -1, String.valueOf(c)));
-            }
-            return arr;
-        } else if (tree.getType() == Types.INT_LIT) {
-            Lexeme arr = new Lexeme(Types.ARR);
-            for (int i = 0; i < tree.getIntValue(); i++) {
-                arr.addChild(new Lexeme(Types.INT_LIT, -1, i));
-            }
-            return arr;
-        } else if (tree.getType() == Types.RANGE) {
-            return rangeToArr(tree, env);
+    private Iterator<Value> toIterable(Lexeme tree, Environment env) {
+        if (tree.getType() != IDENTIFIER && tree.getType() != ARR && tree.getType() != INT_LIT &&
+                tree.getType() != STRING_LIT && tree.getType() != RANGE)
+            return Collections.emptyIterator();
+        Value value = eval(tree, env);
+        if (value.getType() == Types.ARR) {
+            return ((ArrayValue) value).iterator();
+        } else if (value.getType() == Types.STRING_LIT) {
+            return ((StringValue) value).iterator();
+        } else if (value.getType() == Types.INT_LIT) {
+            return RangeValue.count(0, Math.max(value.getIntValue(), 0));
         }
-        return new Lexeme(Types.NULL);
+        return Collections.emptyIterator();
     }
 
-    private Lexeme rangeToArr(Lexeme tree, Environment env) {
-        Lexeme first = eval(tree.getChild(0), env);
-        Lexeme second = eval(tree.getChild(1), env);
-        Lexeme arr = new Lexeme(Types.ARR);
+    private Value evalRange(Lexeme tree, Environment env) {
+        Value first = eval(tree.getChild(0), env);
+        Value second = eval(tree.getChild(1), env);
         if (first.getType() != INT_LIT)
             error("RANGE operands must be integers.", first);
         if (second.getType() != INT_LIT)
             error("RANGE operands must be integers.", second);
-        if (first.getIntValue() < second.getIntValue()) {
-            for (int i = first.getIntValue(); i < second.getIntValue(); i++) arr.addChild(new Lexeme(Types.INT_LIT, -1, i));
-        } else {
-            for (int i = first.getIntValue(); i > second.getIntValue(); i--) arr.addChild(new Lexeme(Types.INT_LIT, -1, i));
-        }
-        return arr;
-    }
-
-    private Lexeme evalFunctionDefinition(Lexeme tree, Environment env) {
-        Environment newEnv = getFunctionEnv(env);
-        tree.setDefiningEnv(newEnv);
-        Lexeme functionName = tree.getChild(0);
-        env.add(functionName, tree);
-        newEnv.add(functionName, tree);
-        return functionName;
-    }
-
-    private Environment getFunctionEnv(Environment env) {
-        Environment newEnv = new Environment();
-        if (env.isGlobal()) {
-            for (NamedValue v : env.seeEntries()) {
-                if (v.getValue().getType() == FUNC) {newEnv.add(v.getName().copy(), v.getValue().copy());}
-            }
-        } else {newEnv = env.copy();}
-        return newEnv;
+        if (Math.abs((long) second.getIntValue() - first.getIntValue()) > Integer.MAX_VALUE)
+            error("RANGE cannot hold more than " + Integer.MAX_VALUE + " numbers.", first);
+        return new RangeValue(tree.getLine(), first.getIntValue(), second.getIntValue());
     }
 
-    private Lexeme evalLambdaInitialization(Lexeme tree, Environment env) {
+    private Value evalFunctionDefinition(Lexeme tree, Environment env) {
+        Environment newEnv = env.getFunctionEnv(tree.getCaptures(), tree.getCaptureDepths(), tree.getCaptureSlots());
+        FunctionValue function = new FunctionValue(tree, newEnv);
         Lexeme functionName = tree.getChild(0);
-        Lexeme paramList = tree.getChild(1);
-        Lexeme returnExpr = tree.getChild(2);
-        Lexeme newFunc = new Lexeme(FUNC);
-        Lexeme returnStatement = new Lexeme(RETURN);
-        returnStatement.addChild(returnExpr);
-        newFunc.addChild(functionName);
-        newFunc.addChild(paramList);
-        newFunc.addChild(returnStatement);
-        evalFunctionDefinition(newFunc, env);
-        return functionName;
+        env.add(functionName, function);
+        newEnv.add(functionName, function);
+        return function;
     }
 
-    private Lexeme getFuncTreeFromCall(Lexeme tree, Environment env) {
+    private Value getFuncFromCall(Lexeme tree, Environment env) {
         Lexeme firstChild = tree.getChild(0);
         if (firstChild.getType() == IDENTIFIER)
-            return env.lookup(firstChild);
+            return lookup(firstChild, env);
         else if (firstChild.getType() == FUNC_CALL) {
-            Lexeme possFunc = eval(firstChild, env);
+            Value possFunc = eval(firstChild, env);
             if (possFunc.getType() == FUNC)
                 return possFunc;
             else
@@ -187,99 +203,123 @@ public class Evaluator {
         return error("Cannot call a lexeme of type " + firstChild.getType() + " as a function", tree.getLine());
     }
 
-    private Lexeme evalFunctionCall(Lexeme tree, Environment env) {
-        Lexeme funcDefTree = getFuncTreeFromCall(tree, env);
-        Lexeme argList = getArgList(tree.getChild(1), env);
-        if (funcDefTree.getType() == FUNC) {
-            Lexeme evaluatedArgList = evalArgList(argList, env);
-            return evalLexicalFunction(tree, env, funcDefTree, evaluatedArgList);
-        } else if (funcDefTree.getType() == BUILT_IN_FUNC) {
-            return funcDefTree.getBuiltInFunc().call(argList.getChildren(), tree.getLine(), env);
+    private Value evalFunctionCall(Lexeme tree, Environment env) {
+        return call(tree, getFuncFromCall(tree, env), env);
+    }
+
+    // A lexical call in tail position is not made here: its callee and arguments are left for the evalLexicalFunction
+    // running the current body, which makes it in place of the call it is in. Tail recursion so runs in constant
+    // stack, and each finished call's environment can be dropped before the next one starts.
+    private Value evalTailCall(Lexeme tree, Environment env) {
+        Value function = getFuncFromCall(tree, env);
+        if (function.getType() != FUNC) return call(tree, function, env);
+        tailArgs = evalArgList(tree.getChild(1), env);
+        tailFunction = (FunctionValue) function;
+        tailCall = tree;
+        return NullValue.NULL;
+    }
+
+    private Value call(Lexeme tree, Value function, Environment env) {
+        if (function.getType() == FUNC) {
+            ArrayList<Value> args = evalArgList(tree.getChild(1), env);
+            return evalLexicalFunction(tree, (FunctionValue) function, args);
+        } else if (function.getType() == BUILT_IN_FUNC) {
+            return callBuiltIn(tree, (BuiltInValue) function, env);
         }
-        error("Cannot call a lexeme of type " + funcDefTree.getType() + " as a function", tree.getLine());
-        return new Lexeme(NULL);
+        error("Cannot call a lexeme of type " + function.getType() + " as a function", tree.getLine());
+        return NullValue.NULL;
     }
 
-    private Lexeme getArgList(Lexeme tree, Environment env) {
-        Lexeme allArgs = new Lexeme(ARG_LIST);
+    private Value callBuiltIn(Lexeme tree, BuiltInValue function, Environment env) {  // no list unless it unpacks
+        List<Lexeme> args = tree.getChild(1).getChildren();
+        int line = tree.getLine();
+        for (Lexeme arg : args) {
+            if (arg.getType() == UNPACKABLE) return function.call(evalArgList(tree.getChild(1), env), line);
+        }
+        return switch (args.size()) {
+            case 0 -> function.call0(line);
+            case 1 -> function.call1(eval(args.get(0), env), line);
+            case 2 -> function.call2(eval(args.get(0), env), eval(args.get(1), env), line);
+            default -> function.call(evalArgList(tree.getChild(1), env), line);
+        };
+    }
+
+    private ArrayList<Value> evalArgList(Lexeme tree, Environment env) {
+        ArrayList<ArrayValue> unpacked = new ArrayList<>();   // looked up before any argument is evaluated
         for (Lexeme arg : tree.getChildren()) {
-            if (arg.getType() == UNPACKABLE) {
-                Lexeme child = arg.getChild(0);
-                if (child.getType() == IDENTIFIER)
-                    child = env.lookup(child);
-                if (child.getType() != ARR)
-                    error("Can only use the unpack operator (*) on arrays.", tree);
-                for (Lexeme subArg : child.getChild(0).getChildren()) allArgs.addChild(subArg);
-            } else
-                allArgs.addChild(arg);
+            if (arg.getType() != UNPACKABLE) continue;
+            Lexeme child = arg.getChild(0);
+            Value arr = child.getType() == IDENTIFIER ? lookup(child, env) : null;
+            if (child.getType() == IDENTIFIER ? arr.getType() != ARR : child.getType() != ARR)
+                error("Can only use the unpack operator (*) on arrays.", tree);
+            if (arr != null) unpacked.add((ArrayValue) arr);
         }
-        return allArgs;
+        ArrayList<Value> args = new ArrayList<>(tree.getChildren().size());
+        int next = 0;
+        for (Lexeme arg : tree.getChildren()) {
+            if (arg.getType() != UNPACKABLE)
+                args.add(eval(arg, env));
+            else if (arg.getChild(0).getType() == IDENTIFIER)
+                args.addAll(unpacked.get(next++).toList());
+            else
+                for (Lexeme element : arg.getChild(0).getChild(0).getChildren()) args.add(eval(element, env));
+        }
+        return args;
     }
 
-    private Lexeme evalLexicalFunction(Lexeme tree, Environment env, Lexeme funcDefTree, Lexeme evaluatedArgList) {
-        Environment callEnv = new Environment(funcDefTree.getDefiningEnv());
-        if (funcDefTree.getChild(1).getType() == ARB_PARAM_LIST) {
-            Lexeme arr = new Lexeme(ARR);
-            arr.addChild(new Lexeme(EXPR_LIST));
-            for (Lexeme lex : evaluatedArgList.getChildren()) arr.getChild(0).addChild(lex);
-            callEnv.add(funcDefTree.getChild(1).getChild(0), arr);
-        } else
-            callEnv = normalParamPopulate(tree, env, funcDefTree, evaluatedArgList);
-        Lexeme funcBody = funcDefTree.getChild(2);
-        Lexeme evaluated = eval(funcBody, callEnv);
-        returnDone = false;
-        return evaluated;
+    private Value evalLexicalFunction(Lexeme tree, FunctionValue function, ArrayList<Value> args) {
+        Profile profile = feedback.profile(function.getFunction());
+        CompiledFunction compiled = profile == null ? null : JitCompiler.profile(function, profile);
+        if (compiled != null) {
+            Value result = JitCompiler.invoke(compiled, function, args);
+            if (result != null) return result;   // otherwise deoptimize: interpret this call as usual
+        }
+        while (true) {   // once per tail call; compiled code would recurse on the Java stack, so these stay interpreted
+            Lexeme funcDefTree = function.getFunction();
+            Environment callEnv = new Environment(function.getDefiningEnv());
+            if (funcDefTree.getChild(1).getType() == ARB_PARAM_LIST)
+                callEnv.add(funcDefTree.getChild(1).getChild(0), new ArrayValue(args));
+            else
+                normalParamPopulate(tree, callEnv, funcDefTree, args);
+            Lexeme funcBody = funcDefTree.getChild(2);   // a lambda's is the expression it returns
+            Value evaluated = funcBody.isTailCall() ? evalTailCall(funcBody, callEnv) : eval(funcBody, callEnv);
+            completion = Completion.NORMAL;
+            if (tailFunction == null) return evaluated;
+            function = tailFunction;
+            args = tailArgs;
+            tree = tailCall;
+            tailFunction = null;
+            tailArgs = null;
+            tailCall = null;
+        }
     }
 
-    private Environment normalParamPopulate(Lexeme tree, Environment env, Lexeme funcDefTree, Lexeme evaluatedArgList) {
+    private void normalParamPopulate(Lexeme tree, Environment callEnv, Lexeme funcDefTree, ArrayList<Value> args) {
         Lexeme paramList = funcDefTree.getChild(1);
-        if (evaluatedArgList.getChildren().size() != paramList.getChildren().size())
+        if (args.size() != paramList.getChildren().size())
             error("Expected " + paramList.getChildren().size() + " children supplied to function call, but " +
-                    "received " + evaluatedArgList.getChildren().size() + ".", tree.getLine());
-        Environment callEnv = new Environment(funcDefTree.getDefiningEnv());
+                    "received " + args.size() + ".", tree.getLine());
         for (int i = 0; i < paramList.getChildren().size(); i++) {
-            callEnv.localAdd(paramList.getChild(i).getChild(0).copy(), evaluatedArgList.getChild(i).copy());
-        }
-        return callEnv;
-    }
-
-    private Lexeme evalArgList(Lexeme params, Environment env) {
-        Lexeme root = new Lexeme(ARG_LIST);
-        for (Lexeme param : params.getChildren()) {
-            root.addChild(eval(param, env));
+            callEnv.localAdd(paramList.getChild(i).getChild(0), args.get(i));
         }
-        return root;
     }
 
-    private Lexeme evalExpr(Lexeme tree, Environment env) {
-        if (tree.getType() == NEGATE) tree.addChild(new Lexeme(INT_LIT, tree.getLine(), -1));
-        switch (tree.getType()) {
-            case PLUS -> {return BuiltIns.sum(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case MINUS -> {return BuiltIns.subtract(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case TIMES, NEGATE -> {return BuiltIns.multiply(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case DIVIDE -> {return BuiltIns.divide(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case GREATER_THAN_COMP -> {return BuiltIns.greaterThan(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case EQUALITY_COMP -> {return BuiltIns.equal(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case NOT_EQUAL_COMP -> {return BuiltIns.notEqual(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case LESS_THAN_COMP -> {return BuiltIns.lessThan(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case LESS_OR_EQUAL_COMP -> {return BuiltIns.lessThanOrEqualTo(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case GREATER_OR_EQUAL_COMP -> {return BuiltIns.greaterThanOrEqualTo(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case AND -> {return BuiltIns.AND(tree.getChildren(), tree.getChild(0).getLine(), env);}
-            case OR -> {return BuiltIns.OR(tree.getChildren(), tree.getChild(0).getLine(), env);}
-
-            default -> {return new Lexeme(Types.NULL);}
-        }
+    private Value evalExpr(Lexeme tree, Environment env) {
+        int line = tree.getChild(0).getLine();
+        if (tree.getType() == NEGATE)
+            return BinaryOperators.apply(Operator.MULTIPLY, eval(tree.getChild(0), env), IntValue.of(-1), line);
+        Value left = eval(tree.getChild(0), env);
+        Value right = eval(tree.getChild(1), env);
+        return feedback.node(tree).execute(left, right, line);   // specializes to the operand types it sees
     }
 
-    private Lexeme evalArr(Lexeme tree, Environment env) {
-        Lexeme newArr = new Lexeme(ARR);
-        Lexeme newExprList = new Lexeme(EXPR_LIST);
-        for (Lexeme expr : tree.getChild(0).getChildren()) newExprList.addChild(eval(expr, env));
-        newArr.addChild(newExprList);
-        return newArr;
+    private Value evalArr(Lexeme tree, Environment env) {
+        ArrayList<Value> elements = new ArrayList<>(tree.getChild(0).getChildren().size());
+        for (Lexeme expr : tree.getChild(0).getChildren()) elements.add(eval(expr, env));
+        return new ArrayValue(elements);
     }
 
-    private Lexeme evalCond(Lexeme tree, Environment env) {
+    private Value evalCond(Lexeme tree, Environment env) {
         Lexeme ifBlock = tree.getChild(0);
         if (eval(ifBlock.getChild(0), env).getType() == TRUE) {
             return eval(ifBlock.getChild(1), new Environment(env));
@@ -295,52 +335,57 @@ public class Evaluator {
             Lexeme elseBlock = tree.getChild(tree.getChildren().size() - 1);
             return eval(elseBlock.getChild(0), new Environment(env));
         }
-        return new Lexeme(NULL);
+        return NullValue.NULL;
     }
 
-    private Lexeme arrAcc(Lexeme tree, Environment env) {
-        Lexeme arr = eval(tree.getChild(0), env);
+    private Value arrAcc(Lexeme tree, Environment env) {
+        Value arr = eval(tree.getChild(0), env);
         if (arr.getType() != ARR)
             error("Cannot treat lexeme of type " + arr.getType() + " as an array.", arr.getLine());
-        Lexeme index = eval(tree.getChild(1), env);
+        Value index = eval(tree.getChild(1), env);
         if (index.getType() != INT_LIT)
             error("Cannot index into array with lexeme of type " + index.getType() + ".", arr.getLine());
-        Lexeme items = arr.getChild(0);
+        ArrayValue items = (ArrayValue) arr;
         int realIndex = index.getIntValue();
         if (realIndex < 0)
-            realIndex = items.getChildren().size() - Math.abs(realIndex);
-        if (0 > realIndex || items.getChildren().size() <= realIndex) {
-            return error("Index " + index.getIntValue() + " out of bounds for array of length " + items.getChildren().size(), arr.getLine());
+            realIndex = items.size() - Math.abs(realIndex);
+        if (0 > realIndex || items.size() <= realIndex) {
+            return error("Index " + index.getIntValue() + " out of bounds for array of length " + items.size(), arr.getLine());
         }
-        return arr.getChild(0).getChild(realIndex);
+        return items.get(realIndex);
     }
 
-    private Lexeme arrAss(Lexeme tree, Environment env) {
-        Lexeme arr = eval(tree.getChild(0), env);
+    private Value arrAss(Lexeme tree, Environment env) {
+        Value arr = eval(tree.getChild(0), env);
         if (arr.getType() != ARR)
             error("Cannot treat lexeme of type " + arr.getType() + " as an array.", arr.getLine());
-        Lexeme index = eval(tree.getChild(1), env);
+        Value index = eval(tree.getChild(1), env);
         if (index.getType() != INT_LIT)
             error("Cannot index into array with lexeme of type " + index.getType() + ".", arr.getLine());
-        Lexeme items = arr.getChild(0);
+        ArrayValue items = (ArrayValue) arr;
         int realIndex = index.getIntValue();
         if (realIndex < 0)
-            realIndex = items.getChildren().size() - Math.abs(realIndex);
-        if (0 > realIndex || items.getChildren().size() <= realIndex) {
-            error("Index " + index.getIntValue() + " out of bounds for array of length " + items.getChildren().size(), arr.getLine());
+            realIndex = items.size() - Math.abs(realIndex);
+        if (0 > realIndex || items.size() <= realIndex) {
+            error("Index " + index.getIntValue() + " out of bounds for array of length " + items.size(), arr.getLine());
         }
-        arr.getChild(0).getChildren().set(realIndex, tree.getChild(2));
-        return new Lexeme(NULL);
+        items.set(realIndex, eval(tree.getChild(2), env));
+        return NullValue.NULL;
     }
 
     // ----------- Error Reporting -----------
-    private Lexeme error(String message, Lexeme lex) {
+    private Value error(String message, Lexeme lex) {
         Readable.runtimeError(message, lex);
-        return new Lexeme(Types.ERROR, lex.getLine(), message);
+        return NullValue.NULL;
+    }
+
+    private Value error(String message, Value value) {
+        Readable.runtimeError(message, value);
+        return NullValue.NULL;
     }
 
-    private Lexeme error(String message, int lineNumber) {
+    private Value error(String message, int lineNumber) {
         Readable.runtimeError(message, lineNumber);
-        return new Lexeme(Types.ERROR, lineNumber, message);
+        return NullValue.NULL;
     }
 }
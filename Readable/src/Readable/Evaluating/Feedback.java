@@ -0,0 +1,48 @@
+package Readable.Evaluating;
+
+import Readable.Evaluating.Nodes.BinaryNode;
+import Readable.Jit.Profile;
+import Readable.LexicalAnalysis.Lexeme;
+
+import java.util.Arrays;
+
+public class Feedback {
+    // What one evaluator learns about the trees it runs, kept off the trees so they can be shared: the node each
+    // binary-operator site has specialized to, and each function definition's call profile. Both are indexed by the
+    // site numbers the Resolver gives those lexemes. Another tree's site with the same number just takes the entry
+    // over, so one evaluator can run any number of trees; the tables stay as big as the largest of them.
+
+    // ------------ Instance Variables ------------
+    private BinaryNode[] nodes = new BinaryNode[16];
+    private Profile[] profiles = new Profile[16];
+
+    // ------------ Operator Sites ------------
+    public BinaryNode node(Lexeme site) {
+        int index = site.getSite();
+        if (index < 0) return BinaryNode.generic(site, this);   // an unresolved tree: nothing to remember it by
+        if (index >= nodes.length) nodes = Arrays.copyOf(nodes, Math.max(index + 1, nodes.length * 2));
+        BinaryNode node = nodes[index];
+        if (node == null || node.getSite() != site) {
+            node = BinaryNode.uninitialized(site, this);
+            nodes[index] = node;
+        }
+        return node;
+    }
+
+    public void replace(BinaryNode node) {
+        nodes[node.getSite().getSite()] = node;
+    }
+
+    // ------------ Function Definitions ------------
+    public Profile profile(Lexeme function) {
+        int index = function.getSite();
+        if (index < 0) return null;
+        if (index >= profiles.length) profiles = Arrays.copyOf(profiles, Math.max(index + 1, profiles.length * 2));
+        Profile profile = profiles[index];
+        if (profile == null || profile.getFunction() != function) {
+            profile = new Profile(function);
+            profiles[index] = profile;
+        }
+        return profile;
+    }
+}
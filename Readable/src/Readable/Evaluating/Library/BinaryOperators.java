@@ -0,0 +1,198 @@
+package Readable.Evaluating.Library;
+
+import Readable.LexicalAnalysis.Types;
+import Readable.Values.*;
+
+import java.util.Arrays;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class BinaryOperators {
+    // One table of handlers per operator, indexed by the types of both operands. A handler gives exactly what the
+    // operator's built-in (see BuiltIns) gives for that pair of types, minus the argument checks: the pairs that
+    // built-in would reject have no handler, and go to it anyway so that it reports the error.
+
+    // ------------ Operators ------------
+    public enum Operator {ADD, SUBTRACT, MULTIPLY, DIVIDE, GREATER, GREATER_EQUAL, LESS, LESS_EQUAL, EQUAL, NOT_EQUAL,
+        AND, OR}
+
+    public static Operator of(Types operator) {
+        return switch (operator) {
+            case PLUS -> Operator.ADD;
+            case MINUS -> Operator.SUBTRACT;
+            case TIMES -> Operator.MULTIPLY;
+            case DIVIDE -> Operator.DIVIDE;
+            case GREATER_THAN_COMP -> Operator.GREATER;
+            case GREATER_OR_EQUAL_COMP -> Operator.GREATER_EQUAL;
+            case LESS_THAN_COMP -> Operator.LESS;
+            case LESS_OR_EQUAL_COMP -> Operator.LESS_EQUAL;
+            case EQUALITY_COMP -> Operator.EQUAL;
+            case NOT_EQUAL_COMP -> Operator.NOT_EQUAL;
+            case AND -> Operator.AND;
+            case OR -> Operator.OR;
+            default -> null;
+        };
+    }
+
+    // ------------ Handlers ------------
+    // What a table entry says to do. Small codes and a switch, rather than a table of lambdas, so the hot pairs don't
+    // all go through one call site that sees every handler.
+    private static final byte NONE = 0, GENERAL = 1,
+            INT_ADD = 2, INT_SUBTRACT = 3, INT_MULTIPLY = 4, INT_GREATER = 5, INT_GREATER_EQUAL = 6, INT_LESS = 7,
+            INT_LESS_EQUAL = 8, INT_EQUAL = 9, INT_NOT_EQUAL = 10,
+            FLOAT_ADD = 11, FLOAT_SUBTRACT = 12, FLOAT_MULTIPLY = 13,
+            STRING_ADD = 14, STRING_GREATER = 15, STRING_GREATER_EQUAL = 16, STRING_LESS = 17, STRING_LESS_EQUAL = 18,
+            STRING_EQUAL = 19, STRING_NOT_EQUAL = 20;
+
+    // ------------ Static Variables ------------
+    private static final Types[] KINDS = {INT_LIT, FLOAT_LIT, STRING_LIT, TRUE, FALSE, ARR, NULL, FUNC, BUILT_IN_FUNC};
+    private static final int[] kindOf = new int[Types.values().length];
+    private static final byte[][] handlers = new byte[Operator.values().length][KINDS.length * KINDS.length];
+
+    static {
+        Arrays.fill(kindOf, -1);
+        for (int i = 0; i < KINDS.length; i++) kindOf[KINDS[i].ordinal()] = i;
+        Types[] numbers = {INT_LIT, FLOAT_LIT};
+        Types[] booleans = {TRUE, FALSE};
+
+        // Addition: numbers with numbers and strings, strings with strings and numbers, arrays with anything
+        for (Types left : new Types[] {INT_LIT, FLOAT_LIT, STRING_LIT})
+            for (Types right : new Types[] {INT_LIT, FLOAT_LIT, STRING_LIT}) put(Operator.ADD, left, right, GENERAL);
+        for (Types right : KINDS) put(Operator.ADD, ARR, right, GENERAL);
+        put(Operator.ADD, INT_LIT, INT_LIT, INT_ADD);
+        put(Operator.ADD, FLOAT_LIT, FLOAT_LIT, FLOAT_ADD);
+        put(Operator.ADD, STRING_LIT, STRING_LIT, STRING_ADD);
+
+        // Subtraction: numbers, and strings or arrays shortened by an int
+        for (Types left : numbers) for (Types right : numbers) put(Operator.SUBTRACT, left, right, GENERAL);
+        put(Operator.SUBTRACT, STRING_LIT, INT_LIT, GENERAL);
+        put(Operator.SUBTRACT, ARR, INT_LIT, GENERAL);
+        put(Operator.SUBTRACT, INT_LIT, INT_LIT, INT_SUBTRACT);
+        put(Operator.SUBTRACT, FLOAT_LIT, FLOAT_LIT, FLOAT_SUBTRACT);
+
+        // Multiplication: numbers, strings and arrays repeated by an int, anything scaled by a boolean (both ways)
+        for (Types left : numbers) for (Types right : numbers) put(Operator.MULTIPLY, left, right, GENERAL);
+        for (Types other : new Types[] {STRING_LIT, ARR}) {
+            put(Operator.MULTIPLY, INT_LIT, other, GENERAL);
+            put(Operator.MULTIPLY, other, INT_LIT, GENERAL);
+        }
+        for (Types bool : booleans) for (Types other : new Types[] {INT_LIT, FLOAT_LIT, STRING_LIT, ARR}) {
+            put(Operator.MULTIPLY, bool, other, GENERAL);
+            put(Operator.MULTIPLY, other, bool, GENERAL);
+        }
+        put(Operator.MULTIPLY, INT_LIT, INT_LIT, INT_MULTIPLY);
+        put(Operator.MULTIPLY, FLOAT_LIT, FLOAT_LIT, FLOAT_MULTIPLY);
+
+        // Division: numbers only
+        for (Types left : numbers) for (Types right : numbers) put(Operator.DIVIDE, left, right, GENERAL);
+
+        // Comparisons and boolean operators never reject a pair
+        for (Operator operator : new Operator[] {Operator.GREATER, Operator.GREATER_EQUAL, Operator.LESS,
+                Operator.LESS_EQUAL, Operator.EQUAL, Operator.NOT_EQUAL, Operator.AND, Operator.OR})
+            for (Types left : KINDS) for (Types right : KINDS) put(operator, left, right, GENERAL);
+        put(Operator.GREATER, INT_LIT, INT_LIT, INT_GREATER);
+        put(Operator.GREATER_EQUAL, INT_LIT, INT_LIT, INT_GREATER_EQUAL);
+        put(Operator.LESS, INT_LIT, INT_LIT, INT_LESS);
+        put(Operator.LESS_EQUAL, INT_LIT, INT_LIT, INT_LESS_EQUAL);
+        put(Operator.EQUAL, INT_LIT, INT_LIT, INT_EQUAL);
+        put(Operator.NOT_EQUAL, INT_LIT, INT_LIT, INT_NOT_EQUAL);
+        put(Operator.GREATER, STRING_LIT, STRING_LIT, STRING_GREATER);
+        put(Operator.GREATER_EQUAL, STRING_LIT, STRING_LIT, STRING_GREATER_EQUAL);
+        put(Operator.LESS, STRING_LIT, STRING_LIT, STRING_LESS);
+        put(Operator.LESS_EQUAL, STRING_LIT, STRING_LIT, STRING_LESS_EQUAL);
+        put(Operator.EQUAL, STRING_LIT, STRING_LIT, STRING_EQUAL);
+        put(Operator.NOT_EQUAL, STRING_LIT, STRING_LIT, STRING_NOT_EQUAL);
+    }
+
+    private static void put(Operator operator, Types left, Types right, byte handler) {
+        handlers[operator.ordinal()][kindOf[left.ordinal()] * KINDS.length + kindOf[right.ordinal()]] = handler;
+    }
+
+    // ------------ Applying ------------
+    // Kept small enough to inline into the operator node and the VM; each family of shortcuts has its own switch.
+    public static Value apply(Operator operator, Value left, Value right, int line) {
+        int leftKind = kindOf[left.getType().ordinal()];
+        int rightKind = kindOf[right.getType().ordinal()];
+        byte handler = leftKind < 0 || rightKind < 0 ? NONE : handlers[operator.ordinal()][leftKind * KINDS.length + rightKind];
+        if (handler >= INT_ADD) {
+            if (handler <= INT_NOT_EQUAL) return ints(handler, left.getIntValue(), right.getIntValue(), left.getLine());
+            if (handler <= FLOAT_MULTIPLY) return floats(handler, left.getDecValue(), right.getDecValue(), left.getLine());
+            return strings(handler, left, right);
+        }
+        if (handler == GENERAL) return general(operator, left, right);
+        return fallback(operator, left, right, line);
+    }
+
+    private static Value ints(byte handler, int left, int right, int line) {
+        return switch (handler) {
+            case INT_ADD -> IntValue.of(left + right);
+            case INT_SUBTRACT -> IntValue.of(left - right);
+            case INT_MULTIPLY -> IntValue.of(line, left * right);
+            case INT_GREATER -> BoolValue.of(left > right);
+            case INT_GREATER_EQUAL -> BoolValue.of(left >= right);
+            case INT_LESS -> BoolValue.of(left < right);
+            case INT_LESS_EQUAL -> BoolValue.of(left <= right);
+            case INT_EQUAL -> BoolValue.of(left == right);
+            default -> BoolValue.of(left != right);
+        };
+    }
+
+    private static Value floats(byte handler, double left, double right, int line) {
+        return switch (handler) {
+            case FLOAT_ADD -> new FloatValue(-1, left + right);
+            case FLOAT_SUBTRACT -> new FloatValue(-1, left - right);
+            default -> new FloatValue(line, left * right);
+        };
+    }
+
+    private static Value strings(byte handler, Value left, Value right) {
+        return switch (handler) {
+            case STRING_ADD -> ((StringValue) left).concat(right.getStringValue());
+            // strings order backwards, as Comparator.greaterThan has it
+            case STRING_GREATER -> BoolValue.of(compare(left, right) < 0);
+            case STRING_GREATER_EQUAL -> BoolValue.of(compare(left, right) <= 0);
+            case STRING_LESS -> BoolValue.of(compare(left, right) > 0);
+            case STRING_LESS_EQUAL -> BoolValue.of(compare(left, right) >= 0);
+            case STRING_EQUAL -> BoolValue.of(left.getStringValue().equals(right.getStringValue()));
+            default -> BoolValue.of(!left.getStringValue().equals(right.getStringValue()));
+        };
+    }
+
+    private static int compare(Value left, Value right) {
+        return left.getStringValue().compareTo(right.getStringValue());
+    }
+
+    private static Value general(Operator operator, Value left, Value right) {  // a valid pair with no shortcut
+        return switch (operator) {
+            case ADD -> Arithmetic.sum(left, right);
+            case SUBTRACT -> Arithmetic.subtract(left, right);
+            case MULTIPLY -> Arithmetic.multiply(left, right);
+            case DIVIDE -> Arithmetic.divide(left, right);
+            case GREATER -> Comparator.greaterThan(left, right);
+            case GREATER_EQUAL -> Comparator.greaterThanOrEqualToComp(left, right);
+            case LESS -> Comparator.lessThanComp(left, right);
+            case LESS_EQUAL -> Comparator.lessThanOrEqualToComp(left, right);
+            case EQUAL -> Comparator.equalityComp(left, right);
+            case NOT_EQUAL -> Comparator.notEqualComp(left, right);
+            case AND -> Boolean.andComp(left, right);
+            case OR -> Boolean.orComp(left, right);
+        };
+    }
+
+    private static Value fallback(Operator operator, Value left, Value right, int line) {  // reports the error
+        return switch (operator) {
+            case ADD -> BuiltIns.sum(left, right, line);
+            case SUBTRACT -> BuiltIns.subtract(left, right, line);
+            case MULTIPLY -> BuiltIns.multiply(left, right, line);
+            case DIVIDE -> BuiltIns.divide(left, right, line);
+            case GREATER -> BuiltIns.greaterThan(left, right, line);
+            case GREATER_EQUAL -> BuiltIns.greaterThanOrEqualTo(left, right, line);
+            case LESS -> BuiltIns.lessThan(left, right, line);
+            case LESS_EQUAL -> BuiltIns.lessThanOrEqualTo(left, right, line);
+            case EQUAL -> BuiltIns.equal(left, right, line);
+            case NOT_EQUAL -> BuiltIns.notEqual(left, right, line);
+            case AND -> BuiltIns.AND(left, right, line);
+            case OR -> BuiltIns.OR(left, right, line);
+        };
+    }
+}
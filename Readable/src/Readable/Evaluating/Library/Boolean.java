@@ -1,46 +1,47 @@
 package Readable.Evaluating.Library;
 
-import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
 
 import static Readable.LexicalAnalysis.Types.*;
 
 public class Boolean {
     // ----------- Helper -----------
-    private static Lexeme helperNegate(Lexeme root) {
+    private static Value helperNegate(Value root) {
         return switch (root.getType()) {
-            case TRUE -> new Lexeme(FALSE);
-            case FALSE -> new Lexeme(TRUE);
-            default -> new Lexeme(NULL);
+            case TRUE -> BoolValue.FALSE;
+            case FALSE -> BoolValue.TRUE;
+            default -> NullValue.NULL;
         };
     }
 
     // ----------- Truthiness -----------
-    public static Lexeme truthy(Lexeme root) {
-        Lexeme trueValue = new Lexeme(TRUE);
-        Lexeme falseValue = new Lexeme(FALSE);
+    public static Value truthy(Value root) {
+        if (root == BoolValue.TRUE || root == BoolValue.FALSE) return root;   // computed booleans, the common case
+        Value trueValue = BoolValue.TRUE;
+        Value falseValue = BoolValue.FALSE;
         return switch (root.getType()) {
             case INT_LIT -> root.getIntValue() != 0 ? trueValue : falseValue;
             case FLOAT_LIT -> root.getDecValue() != 0.0 ? trueValue : falseValue;
             case STRING_LIT -> !(root.getStringValue().equals("")) ? trueValue : falseValue;
-            case ARR -> root.getChild(0).getChildren().size() > 0 ? trueValue : falseValue;
+            case ARR -> ((ArrayValue) root).size() > 0 ? trueValue : falseValue;
             case TRUE -> trueValue;
             case FALSE -> falseValue;
-            default -> new Lexeme(NULL);
+            default -> NullValue.NULL;
         };
     }
 
     // ----------- AND -----------
-    public static Lexeme andComp(Lexeme s1, Lexeme s2) {
-        return (truthy(s1).getType() == TRUE && truthy(s2).getType() == TRUE) ? new Lexeme(TRUE) : new Lexeme(FALSE);
+    public static Value andComp(Value s1, Value s2) {
+        return (truthy(s1).getType() == TRUE && truthy(s2).getType() == TRUE) ? BoolValue.TRUE : BoolValue.FALSE;
     }
 
     // ----------- OR -----------
-    public static Lexeme orComp(Lexeme s1, Lexeme s2) {
-        return (truthy(s1).getType() == TRUE || truthy(s2).getType() == TRUE) ? new Lexeme(TRUE) : new Lexeme(FALSE);
+    public static Value orComp(Value s1, Value s2) {
+        return (truthy(s1).getType() == TRUE || truthy(s2).getType() == TRUE) ? BoolValue.TRUE : BoolValue.FALSE;
     }
 
     // ----------- NOT -----------
-    public static Lexeme notComp(Lexeme root) {
+    public static Value notComp(Value root) {
         return helperNegate(truthy(root));
     }
 }
@@ -1,10 +1,57 @@
 package Readable.Evaluating.Library;
 
-import Readable.Environments.Environment;
-import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.Value;
 
 import java.util.ArrayList;
 
 public interface BuiltInInterface {
-    public Lexeme call(ArrayList<Lexeme> args, int line, Environment env);
+    // The list form takes any number of arguments. Calls with none, one or two arguments go through call0/1/2,
+    // which a built-in of that arity overrides so the call needs no list; the defaults just build one.
+    public Value call(ArrayList<Value> args, int line);
+
+    default Value call0(int line) {
+        return call(new ArrayList<>(0), line);
+    }
+
+    default Value call1(Value arg, int line) {
+        ArrayList<Value> args = new ArrayList<>(1);
+        args.add(arg);
+        return call(args, line);
+    }
+
+    default Value call2(Value left, Value right, int line) {
+        ArrayList<Value> args = new ArrayList<>(2);
+        args.add(left);
+        args.add(right);
+        return call(args, line);
+    }
+
+    // ------------ Fixed Arities ------------
+    interface Unary {
+        Value call(Value arg, int line);
+    }
+
+    interface Binary {
+        Value call(Value left, Value right, int line);
+    }
+
+    static BuiltInInterface unary(BuiltInInterface list, Unary one) {
+        return new BuiltInInterface() {
+            @Override
+            public Value call(ArrayList<Value> args, int line) {return list.call(args, line);}
+
+            @Override
+            public Value call1(Value arg, int line) {return one.call(arg, line);}
+        };
+    }
+
+    static BuiltInInterface binary(BuiltInInterface list, Binary two) {
+        return new BuiltInInterface() {
+            @Override
+            public Value call(ArrayList<Value> args, int line) {return list.call(args, line);}
+
+            @Override
+            public Value call2(Value left, Value right, int line) {return two.call(left, right, line);}
+        };
+    }
 }
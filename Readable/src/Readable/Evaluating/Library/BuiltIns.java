@@ -1,275 +1,308 @@
 package Readable.Evaluating.Library;
 
-import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
 import Readable.LexicalAnalysis.Types;
 
 import Readable.Readable;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.stream.StreamSupport;
-
-import Readable.Environments.Environment;
-
-import Readable.Evaluating.Evaluator;
-
 
 import static Readable.LexicalAnalysis.Types.*;
 
 public class BuiltIns {
     // ----------- Static Functions -----------
+    // Arguments arrive already evaluated, in order, by whichever engine makes the call. Each built-in has a
+    // fixed-arity form taking its arguments directly (see BuiltInInterface); the list form only checks the count
+    // and hands over to it.
+
     // ----------- General -----------
-    public static Lexeme print(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value print(PrintStream out, ArrayList<Value> args, int line) {
         if (args.size() != 1) {
             error("Expected " + 1 + " children supplied to function call, but " +
                     "received " + args.size() + ".", line);
-            return new Lexeme(NULL);
+            return NullValue.NULL;
         }
-        System.out.println(args.get(0).printRepr());
-        return new Lexeme(NULL);
+        return print(out, args.get(0), line);
+    }
+
+    public static Value print(PrintStream out, Value arg, int line) {
+        out.println(arg.printRepr());
+        return NullValue.NULL;
     }
 
-    public static Lexeme type(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value type(ArrayList<Value> args, int line) {
         if (args.size() != 1) {
             error("Expected " + 1 + " children supplied to function call, but " +
                     "received " + args.size() + ".", line);
-            return new Lexeme(NULL);
+            return NullValue.NULL;
         }
-        Lexeme tree = args.get(0);
+        return type(args.get(0), line);
+    }
+
+    public static Value type(Value tree, int line) {
         Types type = tree.getType();
         if (type == Types.INT_LIT)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "int");
+            return new StringValue(tree.getLine(), "int");
         if (type == Types.STRING_LIT)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "str");
+            return new StringValue(tree.getLine(), "str");
         if (type == Types.FLOAT_LIT)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "float");
+            return new StringValue(tree.getLine(), "float");
         if (type == Types.ARR)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "arr");
+            return new StringValue(tree.getLine(), "arr");
         if (type == Types.NULL)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "null");
+            return new StringValue(tree.getLine(), "null");
         if (type == Types.TRUE || type == Types.FALSE)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "bool");
+            return new StringValue(tree.getLine(), "bool");
         if (type == Types.FUNC)
-            return new Lexeme(Types.STRING_LIT, tree.getLine(), "func");
+            return new StringValue(tree.getLine(), "func");
         if (type == Types.BUILT_IN_FUNC)
-            return new Lexeme(STRING_LIT, tree.getLine(), "bltIn");
+            return new StringValue(tree.getLine(), "bltIn");
         error("Cannot evaluate built-in 'type' on value of type " + tree.getType().toString(),
                 tree.getLine());
-        return new Lexeme(NULL);
+        return NullValue.NULL;
     }
 
     // ----------- Iterables -----------
-    public static Lexeme len(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value len(ArrayList<Value> args, int line) {
         if (args.size() != 1) {
             error("Expected " + 1 + " children supplied to function call, but " +
                     "received " + args.size() + ".", line);
-            return new Lexeme(NULL);
+            return NullValue.NULL;
         }
-        Lexeme tree = args.get(0);
+        return len(args.get(0), line);
+    }
+
+    public static Value len(Value tree, int line) {
         if (tree.getType() == STRING_LIT) {
-            return new Lexeme(INT_LIT, tree.getLine(), tree.getStringValue().length());
+            return new IntValue(tree.getLine(), ((StringValue) tree).length());
         } else if (tree.getType() == ARR) {
-            return new Lexeme(INT_LIT, tree.getLine(), tree.getChild(0).getChildren().size());
+            return new IntValue(tree.getLine(), ((ArrayValue) tree).size());
         } else {
             error("Cannot evaluate built-in 'len' on value of type " + tree.getType().toString(),
                     tree.getLine());
         }
-        return new Lexeme(NULL);
+        return NullValue.NULL;
     }
 
     // ----------- Arithmetic -----------
-    public static Lexeme sum(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value sum(ArrayList<Value> args, int line) {
         if (args.size() < 2)
             return error("Built-in 'sum' function takes two or more arguments.", line);
-        else if (Arithmetic.checkSumUnavailable(args.get(0))) {
-            return error("Cannot perform addition with lexeme of type " + args.get(0).getType(), line);
-        }
-        Lexeme sum_ = args.get(0);
-        Types oldType = sum_.getType();
-        for (int i = 1; i < args.size(); i++) {
-            sum_ = Arithmetic.sum(sum_, args.get(i));
-            if (sum_.getType() == NULL) {
-                if (Arithmetic.checkSumUnavailable(args.get(i))) return error("Cannot perform addition with lexeme of type " + args.get(i).getType(), line);
-                else return error("Cannot perform addition between lexeme of type " + oldType + " and lexeme of type " + args.get(i).getType(), line);
-            }
-            oldType = sum_.getType();
+        Value sum_ = args.get(0);
+        for (int i = 1; i < args.size() && sum_.getType() != NULL; i++) sum_ = sum(sum_, args.get(i), line);
+        return sum_;
+    }
+
+    public static Value sum(Value left, Value right, int line) {
+        if (Arithmetic.checkSumUnavailable(left))
+            return error("Cannot perform addition with lexeme of type " + left.getType(), line);
+        Value sum_ = Arithmetic.sum(left, right);
+        if (sum_.getType() == NULL) {
+            if (Arithmetic.checkSumUnavailable(right)) return error("Cannot perform addition with lexeme of type " + right.getType(), line);
+            else return error("Cannot perform addition between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         }
         return sum_;
     }
 
-    public static Lexeme subtract(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value subtract(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'subtract' function takes exactly two arguments.", line);
-        else if (Arithmetic.checkSubtractionUnavailable(args.get(0))) {
-            return error("Cannot perform subtraction with lexeme of type " + args.get(0).getType(), line);
-        } else if (Arithmetic.checkSubtractionUnavailable(args.get(1))) {
-            return error("Cannot perform subtraction with lexeme of type " + args.get(1).getType(), line);
+        return subtract(args.get(0), args.get(1), line);
+    }
+
+    public static Value subtract(Value left, Value right, int line) {
+        if (Arithmetic.checkSubtractionUnavailable(left)) {
+            return error("Cannot perform subtraction with lexeme of type " + left.getType(), line);
+        } else if (Arithmetic.checkSubtractionUnavailable(right)) {
+            return error("Cannot perform subtraction with lexeme of type " + right.getType(), line);
         }
-        Lexeme result = Arithmetic.subtract(args.get(0), args.get(1));
+        Value result = Arithmetic.subtract(left, right);
         if (result.getType() == NULL)
-            return error("Cannot perform subtraction between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot perform subtraction between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
-    public static Lexeme multiply(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value multiply(ArrayList<Value> args, int line) {
         if (args.size() < 2)
             return error("Built-in 'multiply' function takes two or more arguments.", line);
-        else if (Arithmetic.checkMultiplicationUnavailable(args.get(0))) {
-            return error("Cannot perform multiplication with lexeme of type " + args.get(0).getType(), line);
-        }
-        Lexeme product = args.get(0);
-        Types oldType = product.getType();
-        for (int i = 1; i < args.size(); i++) {
-            product = Arithmetic.multiply(product, args.get(i));
-            if (product.getType() == NULL) {
-                if (Arithmetic.checkMultiplicationUnavailable(args.get(i))) return error("Cannot perform multiplication with lexeme of type " + args.get(i).getType(), line);
-                else return error("Cannot perform multiplication between lexeme of type " + oldType + " and lexeme of type " + args.get(i).getType(), line);
-            }
-            oldType = product.getType();
+        Value product = args.get(0);
+        for (int i = 1; i < args.size() && product.getType() != NULL; i++) product = multiply(product, args.get(i), line);
+        return product;
+    }
+
+    public static Value multiply(Value left, Value right, int line) {
+        if (Arithmetic.checkMultiplicationUnavailable(left))
+            return error("Cannot perform multiplication with lexeme of type " + left.getType(), line);
+        Value product = Arithmetic.multiply(left, right);
+        if (product.getType() == NULL) {
+            if (Arithmetic.checkMultiplicationUnavailable(right)) return error("Cannot perform multiplication with lexeme of type " + right.getType(), line);
+            else return error("Cannot perform multiplication between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         }
         return product;
     }
 
-    public static Lexeme divide(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value divide(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'divide' function takes exactly two arguments.", line);
-        else if (Arithmetic.checkDivisionUnavailable(args.get(0))) {
-            return error("Cannot perform division with lexeme of type " + args.get(0).getType(), line);
-        } else if (Arithmetic.checkDivisionUnavailable(args.get(1))) {
-            return error("Cannot perform division with lexeme of type " + args.get(1).getType(), line);
+        return divide(args.get(0), args.get(1), line);
+    }
+
+    public static Value divide(Value left, Value right, int line) {
+        if (Arithmetic.checkDivisionUnavailable(left)) {
+            return error("Cannot perform division with lexeme of type " + left.getType(), line);
+        } else if (Arithmetic.checkDivisionUnavailable(right)) {
+            return error("Cannot perform division with lexeme of type " + right.getType(), line);
         }
-        Lexeme result = Arithmetic.divide(args.get(0), args.get(1));
+        Value result = Arithmetic.divide(left, right);
         if (result.getType() == NULL)
-            return error("Cannot perform division between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot perform division between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
     // ----------- Comparator -----------
-    public static Lexeme greaterThan(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value greaterThan(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'greater_than' operator takes exactly two arguments.", line);
-        Lexeme result = Comparator.greaterThan(args.get(0), args.get(1));
+        return greaterThan(args.get(0), args.get(1), line);
+    }
+
+    public static Value greaterThan(Value left, Value right, int line) {
+        Value result = Comparator.greaterThan(left, right);
         if (result.getType() == null)
-            return error("Cannot compare between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot compare between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
-    public static Lexeme greaterThanOrEqualTo(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value greaterThanOrEqualTo(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'greater_than_or_equal_to' operator takes exactly two arguments.", line);
-        Lexeme result = Comparator.greaterThanOrEqualToComp(args.get(0), args.get(1));
+        return greaterThanOrEqualTo(args.get(0), args.get(1), line);
+    }
+
+    public static Value greaterThanOrEqualTo(Value left, Value right, int line) {
+        Value result = Comparator.greaterThanOrEqualToComp(left, right);
         if (result.getType() == null)
-            return error("Cannot compare between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot compare between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
-    public static Lexeme lessThan(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
-
+    public static Value lessThan(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'less_than' operator takes exactly two arguments.", line);
-        Lexeme result = Comparator.lessThanComp(args.get(0), args.get(1));
+        return lessThan(args.get(0), args.get(1), line);
+    }
+
+    public static Value lessThan(Value left, Value right, int line) {
+        Value result = Comparator.lessThanComp(left, right);
         if (result.getType() == null)
-            return error("Cannot compare between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot compare between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
-    public static Lexeme lessThanOrEqualTo(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value lessThanOrEqualTo(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'less_than_or_equal_to' operator takes exactly two arguments.", line);
-        Lexeme result = Comparator.lessThanOrEqualToComp(args.get(0), args.get(1));
+        return lessThanOrEqualTo(args.get(0), args.get(1), line);
+    }
+
+    public static Value lessThanOrEqualTo(Value left, Value right, int line) {
+        Value result = Comparator.lessThanOrEqualToComp(left, right);
         if (result.getType() == null)
-            return error("Cannot compare between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot compare between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
-    public static Lexeme equal(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value equal(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'equal_to' operator takes exactly two arguments.", line);
-        Lexeme result = Comparator.equalityComp(args.get(0), args.get(1));
+        return equal(args.get(0), args.get(1), line);
+    }
+
+    public static Value equal(Value left, Value right, int line) {
+        Value result = Comparator.equalityComp(left, right);
         if (result.getType() == null)
-            return error("Cannot compare between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot compare between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
-    public static Lexeme notEqual(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value notEqual(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'not_equal_to' operator takes exactly two arguments.", line);
-        Lexeme result = Comparator.notEqualComp(args.get(0), args.get(1));
+        return notEqual(args.get(0), args.get(1), line);
+    }
+
+    public static Value notEqual(Value left, Value right, int line) {
+        Value result = Comparator.notEqualComp(left, right);
         if (result.getType() == null)
-            return error("Cannot compare between lexeme of type " + args.get(0).getType() + " and lexeme of type " + args.get(1).getType(), line);
+            return error("Cannot compare between lexeme of type " + left.getType() + " and lexeme of type " + right.getType(), line);
         return result;
     }
 
     // ----------- Boolean -----------
-    public static Lexeme AND(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value AND(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'AND' operator takes exactly two arguments.", line);
-        Lexeme v = Boolean.andComp(args.get(0), args.get(1));
+        return AND(args.get(0), args.get(1), line);
+    }
+
+    public static Value AND(Value left, Value right, int line) {
+        Value v = Boolean.andComp(left, right);
         if (v.getType() == NULL)
-            error("Cannot perform built-in 'AND' operation with lexemes of type " + args.get(0).getType()
-                    + " and " + args.get(1).getType(), line);
+            error("Cannot perform built-in 'AND' operation with lexemes of type " + left.getType()
+                    + " and " + right.getType(), line);
         return v;
     }
 
-    public static Lexeme OR(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value OR(ArrayList<Value> args, int line) {
         if (args.size() != 2)
             return error("Built-in 'OR' operator takes exactly two arguments.", line);
-        Lexeme v = Boolean.orComp(args.get(0), args.get(1));
+        return OR(args.get(0), args.get(1), line);
+    }
+
+    public static Value OR(Value left, Value right, int line) {
+        Value v = Boolean.orComp(left, right);
         if (v.getType() == NULL)
-            error("Cannot perform built-in 'OR' operation with lexemes of type " + args.get(0).getType()
-                    + " and " + args.get(1).getType(), line);
+            error("Cannot perform built-in 'OR' operation with lexemes of type " + left.getType()
+                    + " and " + right.getType(), line);
         return v;
     }
 
-    public static Lexeme NOT(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value NOT(ArrayList<Value> args, int line) {
         if (args.size() != 1)
             return error("Built-in 'NOT' operator takes exactly one argument.", line);
-        Lexeme v = Boolean.notComp(args.get(0));
+        return NOT(args.get(0), line);
+    }
+
+    public static Value NOT(Value arg, int line) {
+        Value v = Boolean.notComp(arg);
         if (v.getType() == NULL)
-            error("Cannot perform built-in 'NOT' operation with lexeme of type " + args.get(0).getType(), line);
+            error("Cannot perform built-in 'NOT' operation with lexeme of type " + arg.getType(), line);
         return v;
     }
 
-    public static Lexeme truthy(ArrayList<Lexeme> args, int line, Environment env) {
-        args = evaluateArgs(args, env);
+    public static Value truthy(ArrayList<Value> args, int line) {
         if (args.size() != 1)
             return error("Built-in 'truthy' function takes exactly one argument.", line);
-        Lexeme v = Boolean.truthy(args.get(0));
-        if (v.getType() == NULL)
-            error("Cannot perform built-in 'NOT' operation with lexeme of type " + args.get(0).getType(), line);
-        return v;
+        return truthy(args.get(0), line);
     }
 
-    // ----------- Helper(s) -----------
-    private static ArrayList<Lexeme> evaluateArgs(ArrayList<Lexeme> args, Environment env) {
-        ArrayList<Lexeme> newList = new ArrayList<>();
-        for (Lexeme lex : args) newList.add((new Evaluator()).eval(lex, env));  // TODO: Make evaluator static
-        return newList;
+    public static Value truthy(Value arg, int line) {
+        if (arg == BoolValue.TRUE || arg == BoolValue.FALSE) return arg;
+        Value v = Boolean.truthy(arg);
+        if (v.getType() == NULL)
+            error("Cannot perform built-in 'NOT' operation with lexeme of type " + arg.getType(), line);
+        return v;
     }
 
     // ----------- Errors -----------
-    private static Lexeme error(String message, Lexeme lex) {
+    private static Value error(String message, Value lex) {
         Readable.runtimeError(message, lex);
-        return new Lexeme(Types.ERROR, lex.getLine(), message);
+        return NullValue.NULL;
     }
 
-    private static Lexeme error(String message, int lineNumber) {
+    private static Value error(String message, int lineNumber) {
         Readable.runtimeError(message, lineNumber);
-        return new Lexeme(Types.ERROR, lineNumber, message);
+        return NullValue.NULL;
     }
 }
@@ -1,88 +1,91 @@
 package Readable.Evaluating.Library;
 
-import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
 
 import static Readable.LexicalAnalysis.Types.*;
 
 public class Comparator {
     // ----------- Helper -----------
-    private static Lexeme helperNegate(Lexeme root) {
+    private static Value helperNegate(Value root) {
         return switch (root.getType()) {
-            case TRUE -> new Lexeme(FALSE);
-            case FALSE -> new Lexeme(TRUE);
-            default -> new Lexeme(NULL);
+            case TRUE -> BoolValue.FALSE;
+            case FALSE -> BoolValue.TRUE;
+            default -> NullValue.NULL;
         };
     }
 
     // ----------- Greater Than -----------
-    public static Lexeme greaterThan(Lexeme s1, Lexeme s2) {
+    public static Value greaterThan(Value s1, Value s2) {
         if (s1.getType() == INT_LIT && s2.getType() == FLOAT_LIT) {
-            if (s1.getIntValue() > s2.getDecValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getIntValue() > s2.getDecValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == INT_LIT && s2.getType() == INT_LIT) {
-            if (s1.getIntValue() > s2.getIntValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getIntValue() > s2.getIntValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == FLOAT_LIT && s2.getType() == INT_LIT) {
-            if (s1.getDecValue() > s2.getIntValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getDecValue() > s2.getIntValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == FLOAT_LIT && s2.getType() == FLOAT_LIT) {
-            if (s1.getDecValue() > s2.getDecValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getDecValue() > s2.getDecValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == STRING_LIT && s2.getType() == STRING_LIT) {
             if (s1.getStringValue().compareTo(s2.getStringValue()) < 0)
-                return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+                return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
-        return new Lexeme(NULL);
+        return NullValue.NULL;
     }
 
-    public static Lexeme greaterThanOrEqualToComp(Lexeme s1, Lexeme s2) {
+    public static Value greaterThanOrEqualToComp(Value s1, Value s2) {
         return helperNegate(lessThanComp(s1, s2));
     }
 
     // ----------- Equality -----------
-    public static Lexeme equalityComp(Lexeme s1, Lexeme s2) {
+    public static Value equalityComp(Value s1, Value s2) {
+        // shared instances (small ints, the two booleans) need no look inside; floats can't, NaN isn't equal to itself
+        if (s1 == s2 && (s1 instanceof IntValue || s1 instanceof BoolValue || s1 instanceof StringValue))
+            return BoolValue.TRUE;
         if (s1.getType() == INT_LIT && s2.getType() == FLOAT_LIT) {
-            if (s1.getIntValue() == s2.getDecValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getIntValue() == s2.getDecValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == INT_LIT && s2.getType() == INT_LIT) {
-            if (s1.getIntValue() == s2.getIntValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getIntValue() == s2.getIntValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == FLOAT_LIT && s2.getType() == INT_LIT) {
-            if (s1.getDecValue() == s2.getIntValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getDecValue() == s2.getIntValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
         if (s1.getType() == FLOAT_LIT && s2.getType() == FLOAT_LIT) {
-            if (s1.getDecValue() == s2.getDecValue()) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getDecValue() == s2.getDecValue()) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         } if (s1.getType() == STRING_LIT && s2.getType() == STRING_LIT) {
-            if (s1.getStringValue().equals(s2.getStringValue())) return new Lexeme(TRUE);
-            else return new Lexeme(FALSE);
+            if (s1.getStringValue().equals(s2.getStringValue())) return BoolValue.TRUE;
+            else return BoolValue.FALSE;
         }
-        if (s1.getType() == TRUE && s2.getType() == TRUE) {return new Lexeme(TRUE);}
-        if (s1.getType() == FALSE && s2.getType() == FALSE) {return new Lexeme(TRUE);}
-        if (s1.getType() == TRUE && s2.getType() == FALSE) {return new Lexeme(FALSE);}
-        if (s1.getType() == FALSE && s2.getType() == TRUE) {return new Lexeme(FALSE);}
-        return new Lexeme(NULL);
+        if (s1.getType() == TRUE && s2.getType() == TRUE) {return BoolValue.TRUE;}
+        if (s1.getType() == FALSE && s2.getType() == FALSE) {return BoolValue.TRUE;}
+        if (s1.getType() == TRUE && s2.getType() == FALSE) {return BoolValue.FALSE;}
+        if (s1.getType() == FALSE && s2.getType() == TRUE) {return BoolValue.FALSE;}
+        return NullValue.NULL;
     }
 
-    public static Lexeme notEqualComp(Lexeme s1, Lexeme s2) {return helperNegate(equalityComp(s1, s2));}
+    public static Value notEqualComp(Value s1, Value s2) {return helperNegate(equalityComp(s1, s2));}
 
     // ----------- Less Than -----------
 
-    public static Lexeme lessThanComp(Lexeme s1, Lexeme s2) {
-        Lexeme greaterThan = greaterThan(s1, s2);
-        Lexeme equalTo = equalityComp(s1, s2);
-        return (greaterThan.getType() == FALSE && equalTo.getType() == FALSE) ? new Lexeme(TRUE) : new Lexeme(FALSE);
+    public static Value lessThanComp(Value s1, Value s2) {
+        Value greaterThan = greaterThan(s1, s2);
+        Value equalTo = equalityComp(s1, s2);
+        return (greaterThan.getType() == FALSE && equalTo.getType() == FALSE) ? BoolValue.TRUE : BoolValue.FALSE;
     }
 
-    public static Lexeme lessThanOrEqualToComp(Lexeme s1, Lexeme s2) {
+    public static Value lessThanOrEqualToComp(Value s1, Value s2) {
         return helperNegate(greaterThan(s1, s2));
     }
 }
@@ -0,0 +1,44 @@
+package Readable.Evaluating.Nodes;
+
+import Readable.Evaluating.Feedback;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
+
+public abstract class BinaryNode {
+    // The executable form of one binary-operator site in the parse tree. A site starts uninitialized, specializes
+    // itself to the operand types it first sees, and rewrites itself to the generic version for good if another
+    // pair ever shows up. The rewrite goes to the run's Feedback, which hands out the new node from then on; the
+    // site lexeme itself is never touched.
+
+    // ------------ Instance Variables ------------
+    protected final Lexeme site;
+    protected final Feedback feedback;
+
+    // ------------ Constructor ------------
+    protected BinaryNode(Lexeme site, Feedback feedback) {
+        this.site = site;
+        this.feedback = feedback;
+    }
+
+    public static BinaryNode uninitialized(Lexeme site, Feedback feedback) {
+        return new UninitializedNode(site, feedback);
+    }
+
+    public static BinaryNode generic(Lexeme site, Feedback feedback) {
+        return new GenericNode(site, feedback);
+    }
+
+    // ------------ Executing ------------
+    public abstract Value execute(Value left, Value right, int line);
+
+    public Lexeme getSite() {return site;}
+
+    protected Value replace(BinaryNode node, Value left, Value right, int line) {
+        feedback.replace(node);
+        return node.execute(left, right, line);
+    }
+
+    protected Value generalize(Value left, Value right, int line) {
+        return replace(new GenericNode(site, feedback), left, right, line);
+    }
+}
@@ -0,0 +1,44 @@
+package Readable.Evaluating.Nodes;
+
+import Readable.Evaluating.Feedback;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
+import Readable.LexicalAnalysis.Types;
+
+import static Readable.Evaluating.Nodes.IntNode.bool;
+import static Readable.LexicalAnalysis.Types.*;
+
+public class FloatNode extends BinaryNode {
+    // Same results as Arithmetic and Comparator give for two FLOAT_LITs. The orderings are spelled the way
+    // Comparator builds them from '>' and '==', which only matters for NaN.
+
+    // ------------ Constructor ------------
+    FloatNode(Lexeme site, Feedback feedback) {
+        super(site, feedback);
+    }
+
+    static boolean handles(Types operator) {
+        return IntNode.handles(operator);
+    }
+
+    // ------------ Executing ------------
+    @Override
+    public Value execute(Value left, Value right, int line) {
+        if (left.getType() != FLOAT_LIT || right.getType() != FLOAT_LIT) return generalize(left, right, line);
+        double a = left.getDecValue();
+        double b = right.getDecValue();
+        return switch (site.getType()) {
+            case PLUS -> new FloatValue(-1, a + b);
+            case MINUS -> new FloatValue(-1, a - b);
+            case TIMES -> new FloatValue(left.getLine(), a * b);
+            case DIVIDE -> new FloatValue(left.getLine(), a / b);
+            case GREATER_THAN_COMP -> bool(a > b);
+            case GREATER_OR_EQUAL_COMP -> bool(a > b || a == b);
+            case LESS_THAN_COMP -> bool(!(a > b) && !(a == b));
+            case LESS_OR_EQUAL_COMP -> bool(!(a > b));
+            case EQUALITY_COMP -> bool(a == b);
+            case NOT_EQUAL_COMP -> bool(a != b);
+            default -> generalize(left, right, line);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package Readable.Evaluating.Nodes;
+
+import Readable.Evaluating.Library.BinaryOperators;
+import Readable.Evaluating.Library.BinaryOperators.Operator;
+import Readable.Evaluating.Feedback;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
+
+
+public class GenericNode extends BinaryNode {
+    // ------------ Instance Variables ------------
+    private final Operator operator;
+
+    // ------------ Constructor ------------
+    GenericNode(Lexeme site, Feedback feedback) {
+        super(site, feedback);
+        this.operator = BinaryOperators.of(site.getType());
+    }
+
+    // ------------ Executing ------------
+    @Override
+    public Value execute(Value left, Value right, int line) {
+        return BinaryOperators.apply(operator, left, right, line);
+    }
+}
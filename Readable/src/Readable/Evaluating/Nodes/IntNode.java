@@ -0,0 +1,50 @@
+package Readable.Evaluating.Nodes;
+
+import Readable.Evaluating.Feedback;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
+import Readable.LexicalAnalysis.Types;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class IntNode extends BinaryNode {
+    // Same results as Arithmetic and Comparator give for two INT_LITs, down to the line numbers they stamp.
+
+    // ------------ Constructor ------------
+    IntNode(Lexeme site, Feedback feedback) {
+        super(site, feedback);
+    }
+
+    static boolean handles(Types operator) {
+        return switch (operator) {
+            case PLUS, MINUS, TIMES, DIVIDE, GREATER_THAN_COMP, GREATER_OR_EQUAL_COMP, LESS_THAN_COMP,
+                    LESS_OR_EQUAL_COMP, EQUALITY_COMP, NOT_EQUAL_COMP -> true;
+            default -> false;
+        };
+    }
+
+    // ------------ Executing ------------
+    @Override
+    public Value execute(Value left, Value right, int line) {
+        if (left.getType() != INT_LIT || right.getType() != INT_LIT) return generalize(left, right, line);
+        int a = left.getIntValue();
+        int b = right.getIntValue();
+        return switch (site.getType()) {
+            case PLUS -> IntValue.of(a + b);
+            case MINUS -> IntValue.of(a - b);
+            case TIMES -> IntValue.of(left.getLine(), a * b);
+            case DIVIDE -> new FloatValue(left.getLine(), a / ((float) b));
+            case GREATER_THAN_COMP -> bool(a > b);
+            case GREATER_OR_EQUAL_COMP -> bool(a >= b);
+            case LESS_THAN_COMP -> bool(a < b);
+            case LESS_OR_EQUAL_COMP -> bool(a <= b);
+            case EQUALITY_COMP -> bool(a == b);
+            case NOT_EQUAL_COMP -> bool(a != b);
+            default -> generalize(left, right, line);
+        };
+    }
+
+    static Value bool(boolean value) {
+        return BoolValue.of(value);
+    }
+}
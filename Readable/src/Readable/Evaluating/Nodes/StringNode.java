@@ -0,0 +1,34 @@
+package Readable.Evaluating.Nodes;
+
+import Readable.Evaluating.Feedback;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
+import Readable.LexicalAnalysis.Types;
+
+import static Readable.Evaluating.Nodes.IntNode.bool;
+import static Readable.LexicalAnalysis.Types.*;
+
+public class StringNode extends BinaryNode {
+    // Concatenation and equality; string orderings stay generic.
+
+    // ------------ Constructor ------------
+    StringNode(Lexeme site, Feedback feedback) {
+        super(site, feedback);
+    }
+
+    static boolean handles(Types operator) {
+        return operator == PLUS || operator == EQUALITY_COMP || operator == NOT_EQUAL_COMP;
+    }
+
+    // ------------ Executing ------------
+    @Override
+    public Value execute(Value left, Value right, int line) {
+        if (left.getType() != STRING_LIT || right.getType() != STRING_LIT) return generalize(left, right, line);
+        return switch (site.getType()) {
+            case PLUS -> ((StringValue) left).concat(right.getStringValue());
+            case EQUALITY_COMP -> bool(left.getStringValue().equals(right.getStringValue()));
+            case NOT_EQUAL_COMP -> bool(!left.getStringValue().equals(right.getStringValue()));
+            default -> generalize(left, right, line);
+        };
+    }
+}
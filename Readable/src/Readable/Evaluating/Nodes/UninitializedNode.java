@@ -0,0 +1,28 @@
+package Readable.Evaluating.Nodes;
+
+import Readable.Evaluating.Feedback;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.*;
+import Readable.LexicalAnalysis.Types;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class UninitializedNode extends BinaryNode {
+    // ------------ Constructor ------------
+    UninitializedNode(Lexeme site, Feedback feedback) {
+        super(site, feedback);
+    }
+
+    // ------------ Executing ------------
+    @Override
+    public Value execute(Value left, Value right, int line) {
+        Types operator = site.getType();
+        if (left.getType() == INT_LIT && right.getType() == INT_LIT && IntNode.handles(operator))
+            return replace(new IntNode(site, feedback), left, right, line);
+        if (left.getType() == FLOAT_LIT && right.getType() == FLOAT_LIT && FloatNode.handles(operator))
+            return replace(new FloatNode(site, feedback), left, right, line);
+        if (left.getType() == STRING_LIT && right.getType() == STRING_LIT && StringNode.handles(operator))
+            return replace(new StringNode(site, feedback), left, right, line);
+        return generalize(left, right, line);
+    }
+}
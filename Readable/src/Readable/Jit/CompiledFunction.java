@@ -0,0 +1,6 @@
+package Readable.Jit;
+
+public interface CompiledFunction {
+    // Implemented by the hidden classes JitCompiler defines; takes and returns only ints.
+    public int call(int[] args);
+}
@@ -0,0 +1,126 @@
+package Readable.Jit;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.FunctionValue;
+import Readable.Values.IntValue;
+import Readable.Values.Value;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class JitCompiler {
+    // Second tier for the tree-walker. Every call to a FUNC counts against it; once a function is hot its tree is
+    // turned into Java source (see SourceGenerator) and handed to a background thread, which compiles it with the
+    // system Java compiler and defines it as a hidden class. The evaluator never waits: it keeps interpreting until
+    // the compiled version shows up, and goes back to interpreting any call the compiled version cannot take. What it
+    // compiles depends on the tree alone, so the compiled code is kept per tree and shared by every evaluator that runs
+    // it: the first to find the function hot compiles it, and the rest use it from their next call on.
+
+    // ------------ Static Variables ------------
+    public static final int HOT_THRESHOLD = 100_000;   // calls; the compiler thread costs about a CPU second to start
+
+    private static final JavaCompiler javac = ToolProvider.getSystemJavaCompiler();   // null on a bare JRE
+    private static final AtomicInteger classCount = new AtomicInteger();
+    private static final Map<Lexeme, Compilation> compilations =   // weak: a tree no one runs takes its code along
+            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "Readable JIT");
+        thread.setDaemon(true);   // a pending compilation never keeps the program alive
+        return thread;
+    });
+
+    // ------------ Profiling ------------
+    // Every closure over the same tree shares the profile the run keeps for that tree (see Feedback).
+    public static CompiledFunction profile(FunctionValue closure, Profile profile) {
+        Compilation compilation = profile.getCompilation();
+        if (profile.countCall() == HOT_THRESHOLD && javac != null && compilation.started.compareAndSet(false, true)) {
+            String className = "Compiled" + classCount.incrementAndGet();
+            String source = new SourceGenerator(closure).generate(className);   // read the tree on this thread
+            if (source != null) worker.execute(() -> install(compilation, className, source));
+        }
+        return compilation.compiled;
+    }
+
+    // Returns null when the arguments break the compiled code's assumptions, in which case the caller interprets.
+    public static Value invoke(CompiledFunction compiled, FunctionValue closure, ArrayList<Value> args) {
+        Lexeme paramList = closure.getFunction().getChild(1);
+        int arity = paramList.getType() == PARAM_LIST ? paramList.getChildren().size() : 0;
+        if (args.size() != arity) return null;
+        int[] values = new int[arity];
+        for (int i = 0; i < arity; i++) {
+            if (args.get(i).getType() != INT_LIT) return null;
+            values[i] = args.get(i).getIntValue();
+        }
+        try {
+            return IntValue.of(compiled.call(values));
+        } catch (StackOverflowError error) {
+            return null;   // the compiled code is pure, so running the call again interpreted is safe
+        }
+    }
+
+    // ------------ Compiling ------------
+    // A function whose source does not compile, or whose class cannot be defined, just stays interpreted. Anything
+    // else (a VM error above all) is left to reach the compiler thread's uncaught exception handler.
+    private static void install(Compilation compilation, String className, String source) {
+        byte[] bytes;
+        try {
+            bytes = compile(className, source);
+        } catch (RuntimeException failed) {   // how a CompilationTask reports javac itself failing
+            return;
+        }
+        if (bytes == null) return;
+        try {
+            Class<?> compiledClass = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+            compilation.compiled = (CompiledFunction) compiledClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError failed) {
+            // stays interpreted
+        }
+    }
+
+    private static byte[] compile(String className, String source) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"),
+                JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {return source;}
+        };
+        JavaFileManager fileManager = new ForwardingJavaFileManager<>(javac.getStandardFileManager(null, null, null)) {
+            @Override
+            public JavaFileObject getJavaFileForOutput(Location location, String name, JavaFileObject.Kind kind,
+                                                       FileObject sibling) {
+                return new SimpleJavaFileObject(URI.create("bytes:///" + name + ".class"), kind) {
+                    @Override
+                    public OutputStream openOutputStream() {return bytes;}
+                };
+            }
+        };
+        List<String> options = List.of("-classpath", System.getProperty("java.class.path"), "-proc:none");
+        JavaCompiler.CompilationTask task =
+                javac.getTask(null, fileManager, diagnostic -> {}, options, null, List.of(sourceFile));
+        return task.call() ? bytes.toByteArray() : null;
+    }
+
+    // ------------ Shared Code ------------
+    static Compilation compilationOf(Lexeme function) {
+        return compilations.computeIfAbsent(function, tree -> new Compilation());
+    }
+
+    static final class Compilation {   // holds nothing of the tree, or the weak key would never go
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile CompiledFunction compiled;   // set from the compiler thread
+    }
+}
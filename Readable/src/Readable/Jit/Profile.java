@@ -0,0 +1,25 @@
+package Readable.Jit;
+
+import Readable.LexicalAnalysis.Lexeme;
+
+public class Profile {
+    // One run's call count for a function definition, and where JitCompiler puts the compiled code for its tree.
+
+    // ------------ Instance Variables ------------
+    private final Lexeme function;
+    private final JitCompiler.Compilation compilation;   // shared with every other run's profile of the tree
+    private int calls = 0;
+
+    // ------------ Constructor ------------
+    public Profile(Lexeme function) {
+        this.function = function;
+        this.compilation = JitCompiler.compilationOf(function);
+    }
+
+    // ------------ Getters & Setters ------------
+    public Lexeme getFunction() {return function;}
+
+    int countCall() {return ++calls;}
+
+    JitCompiler.Compilation getCompilation() {return compilation;}
+}
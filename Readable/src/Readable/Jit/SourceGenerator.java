@@ -0,0 +1,179 @@
+package Readable.Jit;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.Values.FunctionValue;
+import Readable.Values.Value;
+
+import java.util.HashMap;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class SourceGenerator {
+    // Translates a FUNC tree into the Java source of a CompiledFunction, or gives up (returns null) on anything
+    // outside the subset it can prove pure and int-typed: int parameters and locals, + - * and negation, comparisons,
+    // boolean logic, if/else if/else, and calls to the function itself. Everything in that subset behaves exactly
+    // as the tree-walker would, so a compiled call can always be swapped for an interpreted one.
+
+    // ------------ Instance Variables ------------
+    private enum Kind {INT, BOOL}
+
+    private static class Unsupported extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {super(null, null, false, false);}
+    }
+
+    private final FunctionValue closure;
+    private final Lexeme function;
+    private final String name;
+    private final int arity;
+    private final HashMap<Integer, Kind> locals = new HashMap<>();   // slot in the call environment -> kind
+    private final StringBuilder out = new StringBuilder();
+
+    // ------------ Constructor ------------
+    public SourceGenerator(FunctionValue closure) {
+        this.closure = closure;
+        this.function = closure.getFunction();
+        this.name = function.getChild(0).getStringValue();
+        this.arity = function.getChild(1).getType() == PARAM_LIST ? function.getChild(1).getChildren().size() : 0;
+    }
+
+    // ------------ Generating ------------
+    public String generate(String className) {
+        if (function.getChild(1).getType() == ARB_PARAM_LIST) return null;
+        try {
+            for (int i = 0; i < arity; i++) locals.put(i, Kind.INT);   // parameters fill the first slots
+            Lexeme body = function.getChild(2);
+            if (body.getType() != STATEMENT_LIST || body.getChildren().isEmpty()) return null;
+            if (body.getChild(body.getChildren().size() - 1).getType() != RETURN) return null;
+            for (Lexeme statement : body.getChildren()) statement(statement, 0, "        ");
+        } catch (Unsupported | IndexOutOfBoundsException ignored) {
+            return null;
+        }
+
+        StringBuilder params = new StringBuilder();
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < arity; i++) {
+            params.append(i > 0 ? ", " : "").append("int v").append(i);
+            args.append(i > 0 ? ", " : "").append("args[").append(i).append("]");
+        }
+        return "package Readable.Jit;\n\n" +
+                "final class " + className + " implements CompiledFunction {\n" +
+                "    public int call(int[] args) {return run(" + args + ");}\n\n" +
+                "    static int run(" + params + ") {\n" +
+                out +
+                "    }\n" +
+                "}\n";
+    }
+
+    // ------------ Statements ------------
+    private void statement(Lexeme tree, int blockDepth, String indent) {
+        switch (tree.getType()) {
+            case RETURN -> out.append(indent).append("return ")
+                    .append(expression(tree.getChild(0), Kind.INT, blockDepth)).append(";\n");
+            case ASS -> {
+                Lexeme target = tree.getChild(0);
+                if (blockDepth != 0 || !target.isResolved() || target.getDepth() != 0) throw new Unsupported();
+                Kind kind = kindOf(tree.getChild(1), blockDepth);
+                String value = expression(tree.getChild(1), kind, blockDepth);
+                Kind declared = locals.get(target.getSlot());
+                if (declared == null) {
+                    locals.put(target.getSlot(), kind);
+                    out.append(indent).append(kind == Kind.INT ? "int v" : "boolean v").append(target.getSlot());
+                } else if (declared == kind) {
+                    out.append(indent).append("v").append(target.getSlot());
+                } else {
+                    throw new Unsupported();   // a slot keeps one kind for the whole body
+                }
+                out.append(" = ").append(value).append(";\n");
+            }
+            case CONDITIONAL_BLOCK -> {
+                String keyword = "if";
+                for (Lexeme branch : tree.getChildren()) {
+                    Lexeme block;
+                    if (branch.getType() == ELSE) {
+                        out.append(indent).append("else {\n");
+                        block = branch.getChild(0);
+                    } else {
+                        out.append(indent).append(keyword).append(" (")
+                                .append(expression(branch.getChild(0), Kind.BOOL, blockDepth)).append(") {\n");
+                        block = branch.getChild(1);
+                    }
+                    for (Lexeme statement : block.getChildren()) statement(statement, blockDepth + 1, indent + "    ");
+                    out.append(indent).append("}\n");
+                    keyword = "else if";
+                }
+            }
+            default -> throw new Unsupported();
+        }
+    }
+
+    // ------------ Expressions ------------
+    private String expression(Lexeme tree, Kind expected, int blockDepth) {
+        if (kindOf(tree, blockDepth) != expected) throw new Unsupported();
+        return switch (tree.getType()) {
+            case INT_LIT -> String.valueOf(tree.getIntValue());
+            case TRUE -> "true";
+            case FALSE -> "false";
+            case IDENTIFIER -> "v" + tree.getSlot();
+            case PLUS -> binary(tree, "+", Kind.INT, blockDepth);
+            case MINUS -> binary(tree, "-", Kind.INT, blockDepth);
+            case TIMES -> binary(tree, "*", Kind.INT, blockDepth);
+            case GREATER_THAN_COMP -> binary(tree, ">", Kind.INT, blockDepth);
+            case GREATER_OR_EQUAL_COMP -> binary(tree, ">=", Kind.INT, blockDepth);
+            case LESS_THAN_COMP -> binary(tree, "<", Kind.INT, blockDepth);
+            case LESS_OR_EQUAL_COMP -> binary(tree, "<=", Kind.INT, blockDepth);
+            case EQUALITY_COMP -> binary(tree, "==", Kind.INT, blockDepth);
+            case NOT_EQUAL_COMP -> binary(tree, "!=", Kind.INT, blockDepth);
+            case AND -> binary(tree, "&", Kind.BOOL, blockDepth);   // both sides are always evaluated
+            case OR -> binary(tree, "|", Kind.BOOL, blockDepth);
+            case NEGATE -> "(-" + expression(tree.getChild(0), Kind.INT, blockDepth) + ")";   // wraps as x * -1 does
+            case NOT -> "(!" + expression(tree.getChild(0), Kind.BOOL, blockDepth) + ")";
+            case FUNC_CALL -> {
+                StringBuilder call = new StringBuilder("run(");
+                Lexeme args = tree.getChild(1);
+                for (int i = 0; i < args.getChildren().size(); i++)
+                    call.append(i > 0 ? ", " : "").append(expression(args.getChild(i), Kind.INT, blockDepth));
+                yield call.append(")").toString();
+            }
+            default -> throw new Unsupported();
+        };
+    }
+
+    private String binary(Lexeme tree, String operator, Kind operands, int blockDepth) {
+        return "(" + expression(tree.getChild(0), operands, blockDepth) + " " + operator + " " +
+                expression(tree.getChild(1), operands, blockDepth) + ")";
+    }
+
+    private Kind kindOf(Lexeme tree, int blockDepth) {
+        return switch (tree.getType()) {
+            case INT_LIT, PLUS, MINUS, TIMES, NEGATE -> Kind.INT;
+            case TRUE, FALSE, GREATER_THAN_COMP, GREATER_OR_EQUAL_COMP, LESS_THAN_COMP, LESS_OR_EQUAL_COMP,
+                    EQUALITY_COMP, NOT_EQUAL_COMP, AND, OR, NOT -> Kind.BOOL;
+            case IDENTIFIER -> {
+                // only the call environment's own slots; blocks in the subset never declare anything
+                if (!tree.isResolved() || tree.getDepth() != blockDepth) throw new Unsupported();
+                Kind kind = locals.get(tree.getSlot());
+                if (kind == null) throw new Unsupported();
+                yield kind;
+            }
+            case FUNC_CALL -> {
+                if (!isSelfCall(tree, blockDepth)) throw new Unsupported();
+                yield Kind.INT;
+            }
+            default -> throw new Unsupported();
+        };
+    }
+
+    private boolean isSelfCall(Lexeme tree, int blockDepth) {
+        Lexeme callee = tree.getChild(0);
+        if (callee.getType() != IDENTIFIER || !callee.getStringValue().equals(name)) return false;
+        if (callee.isResolved() && callee.getDepth() <= blockDepth) return false;   // shadowed by a local
+        Value self = closure.getDefiningEnv().lookup(callee);
+        if (!(self instanceof FunctionValue) || ((FunctionValue) self).getFunction() != function) return false;
+        Lexeme args = tree.getChild(1);
+        if (args.getType() == EMPTY_LIST) return arity == 0;
+        for (Lexeme arg : args.getChildren()) if (arg.getType() == UNPACKABLE) return false;
+        return args.getChildren().size() == arity;
+    }
+}
@@ -0,0 +1,39 @@
+package Readable.LexicalAnalysis;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class AsciiBuffer implements CharSequence {
+    // Source text that is all ASCII, read straight out of its bytes (a memory-mapped file, usually): one byte is one
+    // char, so nothing has to be decoded or copied up front. Only the text of each lexeme is made into a String.
+
+    // ------------ Instance Variables ------------
+    private final ByteBuffer bytes;
+
+    // ------------ Constructor ------------
+    AsciiBuffer(ByteBuffer bytes) {
+        this.bytes = bytes;
+    }
+
+    static boolean isAscii(ByteBuffer bytes) {
+        for (int i = bytes.position(); i < bytes.limit(); i++) if (bytes.get(i) < 0) return false;
+        return true;
+    }
+
+    // ------------ CharSequence ------------
+    @Override
+    public int length() {return bytes.limit();}
+
+    @Override
+    public char charAt(int index) {return (char) bytes.get(index);}
+
+    @Override
+    public String subSequence(int start, int end) {
+        byte[] text = new byte[end - start];
+        bytes.get(start, text);
+        return new String(text, StandardCharsets.ISO_8859_1);   // Latin-1 strings keep one byte per char
+    }
+
+    @Override
+    public String toString() {return subSequence(0, length());}
+}
@@ -0,0 +1,149 @@
+package Readable.LexicalAnalysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+public class ChunkedLexer {
+    // Lexes a large source on every core and gives exactly what Lexer.lex would. That covers the same lexemes, line
+    // numbers and Symbols (numbered alike), and the same first error.
+    // Only strings and block comments run across line breaks, so one pass finds the line breaks outside them. It cuts
+    // the source after some of those into chunks of about equal size, counting lines as it goes. Each chunk is lexed
+    // on the common fork-join pool by a Lexer of its own. The first chunk interns into the caller's table and the
+    // rest into tables of their own. Those tables are then merged into the caller's in source order, and their
+    // identifiers are moved over to the merged symbols.
+
+    // ------------ Static Variables ------------
+    private static final int MIN_CHUNK = 1 << 16;   // chars; anything under two chunks is lexed by one Lexer
+    private static final int CHUNKS_PER_CORE = 4;   // so a slow chunk doesn't leave the other cores idle
+
+    // ------------ Lexing ------------
+    public static ArrayList<Lexeme> lex(CharSequence source) {
+        return lex(source, new SymbolTable());
+    }
+
+    public static ArrayList<Lexeme> lex(CharSequence source, SymbolTable symbols) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int chunkSize = Math.max(MIN_CHUNK, source.length() / (cores * CHUNKS_PER_CORE));
+        if (cores == 1 || source.length() < 2 * chunkSize) return new Lexer(source, symbols).lex();
+
+        List<Chunk> chunks = cut(source, chunkSize, symbols);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Chunk chunk : chunks) tasks.add(ForkJoinPool.commonPool().submit(chunk::lex));
+        for (ForkJoinTask<?> task : tasks) task.join();
+
+        // Into the caller's table in source order, up to and including the chunk with the first error (as far as it got)
+        tasks.clear();
+        int count = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.symbols != symbols) {
+                Symbol[] merged = chunk.mergeInto(symbols);
+                if (chunk.error == null) tasks.add(ForkJoinPool.commonPool().submit(() -> chunk.rebind(merged)));
+            }
+            if (chunk.error != null) throw chunk.error;
+            count += chunk.lexemes.size() - 1;
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+
+        ArrayList<Lexeme> lexemes = new ArrayList<>(count + 1);
+        for (Chunk chunk : chunks) lexemes.addAll(chunk.lexemes.subList(0, chunk.lexemes.size() - 1));   // all but EOF
+        ArrayList<Lexeme> last = chunks.get(chunks.size() - 1).lexemes;
+        lexemes.add(last.get(last.size() - 1));
+        return lexemes;
+    }
+
+    // ------------ Cutting ------------
+    // Cuts after the first line break outside a string or comment once a chunk has chunkSize chars. Strings and
+    // comments are skipped just as Lexer skips them, one that is never closed running to the end.
+    private static List<Chunk> cut(CharSequence source, int chunkSize, SymbolTable symbols) {
+        List<Chunk> chunks = new ArrayList<>();
+        int length = source.length();
+        int start = 0;
+        int firstLine = 1;
+        int line = 1;
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (isLineBreak(c)) {
+                line++;
+                i++;
+                if (i - start >= chunkSize && i < length) {
+                    chunks.add(new Chunk(source, start, i, firstLine, chunks.isEmpty() ? symbols : new SymbolTable()));
+                    start = i;
+                    firstLine = line;
+                }
+            } else if (c == '"') {
+                i++;
+                while (i < length && (source.charAt(i) != '"' || source.charAt(i - 1) == '\\')) {
+                    if (isLineBreak(source.charAt(i))) line++;
+                    i++;
+                }
+                i++;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                i += 2;
+                while (i < length && !isLineBreak(source.charAt(i))) i++;
+            } else if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                i += 2;   // and, as in Lexer.handleMultiLineComment, the char after "/*" can't start its "*/"
+                if (i < length && isLineBreak(source.charAt(i))) line++;
+                i++;
+                while (i < length && !(source.charAt(i) == '*' && i + 1 < length && source.charAt(i + 1) == '/')) {
+                    if (isLineBreak(source.charAt(i))) line++;
+                    i++;
+                }
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        chunks.add(new Chunk(source, start, length, firstLine, chunks.isEmpty() ? symbols : new SymbolTable()));
+        return chunks;
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+    // ------------ Chunks ------------
+    private static final class Chunk {
+        private final CharSequence source;
+        private final int start;
+        private final int end;
+        private final int firstLine;
+        private final SymbolTable symbols;
+
+        private ArrayList<Lexeme> lexemes;   // ending in an EOF
+        private RuntimeException error;      // instead of lexemes, if lexing this chunk failed
+
+        Chunk(CharSequence source, int start, int end, int firstLine, SymbolTable symbols) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+            this.symbols = symbols;
+        }
+
+        void lex() {
+            try {
+                lexemes = new Lexer(source, start, end, firstLine, symbols).lex();
+            } catch (RuntimeException lexingError) {
+                error = lexingError;
+            }
+        }
+
+        // The symbols of this chunk's table, by id, each interned in the given table
+        Symbol[] mergeInto(SymbolTable table) {
+            Symbol[] own = symbols.byId();
+            Symbol[] merged = new Symbol[own.length];
+            for (int id = 0; id < own.length; id++) merged[id] = table.intern(own[id]);
+            return merged;
+        }
+
+        void rebind(Symbol[] merged) {
+            for (Lexeme lexeme : lexemes) {
+                Symbol symbol = lexeme.getSymbol();
+                if (symbol != null) lexeme.rebind(merged[symbol.getId()]);
+            }
+        }
+    }
+}
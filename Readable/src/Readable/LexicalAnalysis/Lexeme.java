@@ -3,65 +3,112 @@
 
 package Readable.LexicalAnalysis;
 
-import Readable.Evaluating.Library.BuiltInInterface;
-import Readable.Environments.Environment;
+import Readable.Values.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class Lexeme {
+    // Once the parser hands a tree over (see BlockParser.getParsed), its shape is fixed: every child list is frozen,
+    // and literals made their runtime values when they were built. The Resolver then annotates the tree in place,
+    // once, before anything runs it; ReadableEngine resolves a copy (copyTree) of any tree it is handed, so the
+    // caller's tree is never annotated under it. Nothing at run time writes to a lexeme; whatever a run learns about
+    // the tree lives with the run (see Feedback), so one resolved tree can be run by any number of threads at once.
+
     // ------------ Instance Variables ------------
     // All lexemes have this initialized:
     private final Types type;
     
     // MOST lexemes have this initialized:
-    private int lineNumber;
+    private final int lineNumber;
 
     // Type-Value Lexemes (e.g. of type NUMBER) have one of these
-    private int integerValue;
-    private double decValue;
+    private final int integerValue;
+    private final double decValue;
     private String stringValue;
+    private Symbol symbol;   // for IDENTIFIER, the interned name (stringValue is its String)
+
+    // Children: most lexemes never get any, so the list is only made for the first
+    private static final List<Lexeme> NO_CHILDREN = Collections.emptyList();   // not List.of(): that one is frozen
+    private List<Lexeme> children = NO_CHILDREN;
+    private boolean frozen = false;
+
+    // For Literals: the runtime value
+    private final Value literal;
+
+    // For Resolved Identifiers (see Resolver)
+    private int depth = -1;
+    private int slot = -1;
+    private boolean builtInReference = false;
 
-    // Children
-    private ArrayList<Lexeme> children = new ArrayList<>();
+    // For Function Definitions: the enclosing frames' bindings the function refers to (see Resolver)
+    private Lexeme[] captures;
+    private int[] captureDepths;
+    private int[] captureSlots;
 
-    // For Closures
-    private Environment definingEnv;
+    // For Returns: set when nothing runs after the returned call but the return itself (see Resolver)
+    private boolean tailCall = false;
 
-    // For Built-Ins
-    private BuiltInInterface func;
+    // For Operator Sites and Function Definitions: where a run keeps what it learns about them (see Feedback)
+    private int site = -1;
 
     // ------------ Constructors ------------
-    public Lexeme(Types tokenType, int line) {
+    private Lexeme(Types tokenType, int line, int intVal, double decVal, String strVal, Symbol sym) {
         type = tokenType;
         lineNumber = line;
+        integerValue = intVal;
+        decValue = decVal;
+        stringValue = strVal;
+        symbol = sym;
+        literal = switch (type) {
+            case INT_LIT -> new IntValue(lineNumber, integerValue);
+            case FLOAT_LIT -> new FloatValue(lineNumber, decValue);
+            case STRING_LIT -> stringValue == null ? NullValue.NULL : new StringValue(lineNumber, stringValue);
+            case TRUE -> new BoolValue(lineNumber, true);
+            case FALSE -> new BoolValue(lineNumber, false);
+            default -> NullValue.NULL;
+        };
+    }
+
+    private Lexeme(Lexeme original) {  // a copy without any children
+        type = original.type;
+        lineNumber = original.lineNumber;
+        integerValue = original.integerValue;
+        decValue = original.decValue;
+        stringValue = original.stringValue;
+        symbol = original.symbol;
+        literal = original.literal;
+        depth = original.depth;
+        slot = original.slot;
+        builtInReference = original.builtInReference;
+    }
+
+    public Lexeme(Types tokenType, int line) {
+        this(tokenType, line, 0, 0, null, null);
     }
 
     public Lexeme(Types tokenType) {
-        type = tokenType;
-        lineNumber = -1;
+        this(tokenType, -1);
     }
 
     public Lexeme(Types tokenType, int line, int intVal) {
-        this(tokenType, line);
-        integerValue = intVal;
+        this(tokenType, line, intVal, 0, null, null);
     }
 
     public Lexeme(Types tokenType, int line, double decVal) {
-        this(tokenType, line);
-        decValue = decVal;
+        this(tokenType, line, 0, decVal, null, null);
     }
 
-    public Lexeme(Types tokenType, int line, String strVal) {
-        this(tokenType, line);
-        stringValue = strVal;
+    public Lexeme(Types tokenType, int line, String strVal) {   // an IDENTIFIER made this way has a symbol of its own
+        this(tokenType, line, 0, 0, strVal, tokenType == Types.IDENTIFIER ? new Symbol(strVal) : null);
     }
 
-    public Lexeme(Types tokenType, int line, BuiltInInterface callFunc) {
-        this(tokenType, line);
-        func = callFunc;
+    public Lexeme(Types tokenType, int line, Symbol sym) {
+        this(tokenType, line, 0, 0, sym.getName(), sym);
     }
 
-    private ArrayList<Lexeme> getArr() {
+    private List<Lexeme> getArr() {
         return getChild(0).getChildren();
     }
 
@@ -79,6 +126,15 @@ public class Lexeme {
         return stringValue;
     }
 
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    void rebind(Symbol sym) {   // to the same name's symbol in another table (see ChunkedLexer)
+        symbol = sym;
+        stringValue = sym.getName();
+    }
+
     public Object getValue() {
         switch (type) {
             case INT_LIT -> {
@@ -108,34 +164,109 @@ public class Lexeme {
         return lineNumber;
     }
 
-    public Environment getDefiningEnv() {
-        return definingEnv;
-    }
-
     public void addChild(Lexeme lex) {
+        if (children == NO_CHILDREN) children = new ArrayList<>(2);
         children.add(lex);
     }
 
-    public void addAllChildren(ArrayList<Lexeme> newChildren) {children.addAll(newChildren);}
-
-    public void setDefiningEnv(Environment newEnv) {definingEnv = newEnv;}
+    public void addAllChildren(List<Lexeme> newChildren) {
+        if (children == NO_CHILDREN) children = new ArrayList<>(newChildren);   // sized once, not grown child by child
+        else children.addAll(newChildren);
+    }
 
     public Lexeme getChild(int i) {return children.get(i);}
 
-    public ArrayList<Lexeme> getChildren() {return children;}
+    public List<Lexeme> getChildren() {return children;}
+
+    public Lexeme copy() {return new Lexeme(this);}  // a copy without any children
 
-    public Lexeme copy() {  // a copy without any children
-        Lexeme copy = new Lexeme(this.type);
-        copy.lineNumber = this.lineNumber;
-        copy.integerValue = this.integerValue;
-        copy.decValue = this.decValue;
-        copy.stringValue = this.stringValue;
-        copy.definingEnv = this.definingEnv;
-        copy.func = this.func;
+    // A copy of the whole tree, frozen, with none of the Resolver's annotations.
+    public Lexeme copyTree() {return movedCopy(0);}
+
+    // The same, but reading delta lines further down: what ParsedSource keeps of a tree through an edit that added or
+    // removed lines above it, leaving the tree itself as it was. Lexemes with no line (-1) keep none.
+    public Lexeme movedCopy(int delta) {
+        Lexeme copy = new Lexeme(type, lineNumber < 0 ? lineNumber : lineNumber + delta, integerValue, decValue,
+                stringValue, symbol);
+        copy.children = switch (children.size()) {   // as freeze would leave them, without copying them again
+            case 0 -> List.of();
+            case 1 -> List.of(children.get(0).movedCopy(delta));
+            case 2 -> List.of(children.get(0).movedCopy(delta), children.get(1).movedCopy(delta));
+            default -> {
+                Lexeme[] copies = new Lexeme[children.size()];
+                for (int i = 0; i < copies.length; i++) copies[i] = children.get(i).movedCopy(delta);
+                yield List.of(copies);
+            }
+        };
+        copy.frozen = true;
         return copy;
     }
 
-    public BuiltInInterface getBuiltInFunc() {return func;}
+    public Value toValue() {return literal;}  // only for INT_LIT, FLOAT_LIT, STRING_LIT, TRUE and FALSE
+
+    // Fixes the shape of this tree: adding a child to any lexeme in it throws from here on.
+    public void freeze() {
+        if (frozen) return;
+        frozen = true;
+        children = List.copyOf(children);
+        for (Lexeme child : children) child.freeze();
+    }
+
+    public boolean isFrozen() {return frozen;}
+
+    // ------------ Resolution ------------
+
+    public void setResolution(int depth, int slot) {
+        this.depth = depth;
+        this.slot = slot;
+        this.builtInReference = false;
+    }
+
+    public void setBuiltInReference() {
+        this.depth = -1;
+        this.slot = -1;
+        this.builtInReference = true;
+    }
+
+    public void clearResolution() {
+        this.depth = -1;
+        this.slot = -1;
+        this.builtInReference = false;
+    }
+
+    public boolean isResolved() {return slot >= 0;}
+
+    public boolean isBuiltInReference() {return builtInReference;}
+
+    public int getDepth() {return depth;}
+
+    public int getSlot() {return slot;}
+
+    public void setCaptures(Lexeme[] captures, int[] captureDepths, int[] captureSlots) {
+        this.captures = captures;
+        this.captureDepths = captureDepths;
+        this.captureSlots = captureSlots;
+    }
+
+    public void clearCaptures() {
+        this.captures = null;
+        this.captureDepths = null;
+        this.captureSlots = null;
+    }
+
+    public Lexeme[] getCaptures() {return captures;}
+
+    public int[] getCaptureDepths() {return captureDepths;}
+
+    public int[] getCaptureSlots() {return captureSlots;}
+
+    public void setTailCall() {this.tailCall = true;}
+
+    public boolean isTailCall() {return tailCall;}
+
+    public void setSite(int site) {this.site = site;}
+
+    public int getSite() {return site;}
 
     // ------------ toString ------------
     private String getRepr() {
@@ -175,26 +306,6 @@ public class Lexeme {
         return getType().toString() + " Lexeme at line " + getLine();
     }
 
-    public String printRepr() {
-        if (getType() == Types.ARR) {
-            if (getChild(0).getChildren().size() >= 1) {
-                String s = "[" + getChild(0).getChild(0).printRepr();
-                for (int i = 1; i < getChild(0).getChildren().size(); i++)
-                    s += ", " + getChild(0).getChild(i).printRepr();
-                return s + "]";
-            } else {
-                return "[]";
-            }
-        } else if (getType() == Types.FUNC) {
-            return "[fnct]";
-        } else if (getType() == Types.BUILT_IN_FUNC) {
-            return "[bltIn]";
-        } else if (getType() == Types.IDENTIFIER) {
-            return getStringValue();
-        }
-        return String.valueOf(getValue());
-    }
-
     // --------------- Printing Lexemes as Parse Trees ---------------
     public void printAsParseTree() {
         System.out.println(getPrintableTree(this, 0));
@@ -6,20 +6,33 @@ package Readable.LexicalAnalysis;
 import Readable.Readable;
 import static Readable.LexicalAnalysis.Types.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 
 public class Lexer {
+    // Lexemes come either all at once (lex) or one at a time as a parser asks for them (next), which keeps only the
+    // lexemes not yet parsed alive. A file can be lexed in place from memory (mapped), without reading it into a
+    // String first. Every identifier is interned in a SymbolTable as it is lexed, so all occurrences of a name share
+    // one Symbol (and one String). ChunkedLexer lexes a large source in pieces, each with a Lexer of its own, and
+    // ParsedSource re-lexes just the part of a source an edit changed.
+
     // ------------ Instance Variables ------------
-    private final String source;
-    private final ArrayList<Lexeme> lexemes = new ArrayList<>();
+    private final CharSequence source;
+    private final SymbolTable symbols;
+    private final int end;
 
     private int currentPosition = 0;
     private int startOfCurrLex = 0;
     private int currLineNumber = 1;
 
 
-    private static final HashMap<String, Types> closedKeywords = new HashMap<>();
+    static final HashMap<String, Types> closedKeywords = new HashMap<>();   // seeds every SymbolTable
 
     static {
         // Structural
@@ -31,6 +44,8 @@ public class Lexer {
         closedKeywords.put("if", IF);
         closedKeywords.put("else", ELSE);
         closedKeywords.put("lambda", LAMBDA);
+        closedKeywords.put("break", BREAK);
+        closedKeywords.put("continue", CONTINUE);
 
         // Boolean
         closedKeywords.put("and", AND);
@@ -43,15 +58,47 @@ public class Lexer {
 
     // ------------ Constructor ------------
 
-    public Lexer(String sourceCode) {
+    public Lexer(CharSequence sourceCode) {
+        this(sourceCode, new SymbolTable());
+    }
+
+    // Programs lexed against the same table share their symbols (see ReadableEngine).
+    public Lexer(CharSequence sourceCode, SymbolTable symbolTable) {
+        this(sourceCode, 0, sourceCode.length(), 1, symbolTable);
+    }
+
+    // Lexes only source[start, end), which must begin where a lexeme can, numbering its lines from firstLine.
+    public Lexer(CharSequence sourceCode, int start, int end, int firstLine, SymbolTable symbolTable) {
         source = sourceCode;
+        symbols = symbolTable;
+        this.end = end;
+        currentPosition = start;
+        currLineNumber = firstLine;
+    }
+
+    // Lexes the file where it is mapped. A file that is all ASCII is read a byte at a time, as it is; any other is
+    // decoded in the platform charset, as Readable has always read source files.
+    public static Lexer mapped(Path path) throws IOException {
+        return mapped(path, new SymbolTable());
+    }
+
+    public static Lexer mapped(Path path, SymbolTable symbolTable) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (AsciiBuffer.isAscii(bytes)) return new Lexer(new AsciiBuffer(bytes), symbolTable);
+            return new Lexer(Charset.defaultCharset().decode(bytes), symbolTable);
+        }
     }
 
+    public SymbolTable getSymbols() {return symbols;}
+
+    public int getPosition() {return currentPosition;}   // where the next lexeme starts looking
+
 
     // ------------ Helpers ------------
 
     private boolean isAtEnd() {
-        return currentPosition >= source.length();
+        return currentPosition >= end;
     }
 
     private char peekPrevious() {
@@ -69,7 +116,7 @@ public class Lexer {
     }
 
     private char peekNext() {
-        if (currentPosition + 1 >= source.length()) {
+        if (currentPosition + 1 >= end) {
             return '\0';
         }
         return source.charAt(currentPosition + 1);
@@ -107,13 +154,23 @@ public class Lexer {
     // ------------ Lexing ------------
 
     public ArrayList<Lexeme> lex() {
+        ArrayList<Lexeme> lexemes = new ArrayList<>();
+        Lexeme lexeme;
+        do {
+            lexeme = next();
+            lexemes.add(lexeme);
+        } while (lexeme.getType() != EOF);
+        return lexemes;
+    }
+
+    // The next lexeme, or EOF (every time) once the source is used up.
+    public Lexeme next() {
         while (!isAtEnd()) {
             startOfCurrLex = currentPosition;
             Lexeme nextLex = getNextLexeme();
-            if (nextLex != null) lexemes.add(nextLex);
+            if (nextLex != null) return nextLex;
         }
-        lexemes.add(new Lexeme(EOF, currLineNumber));
-        return lexemes;
+        return new Lexeme(EOF, currLineNumber);
     }
 
     private Lexeme getNextLexeme() {
@@ -195,14 +252,14 @@ public class Lexer {
             while (isDigit(peek())) advance();
         }
 
-        String numString = source.substring(startOfCurrLex, currentPosition);
+        String numString = source.subSequence(startOfCurrLex, currentPosition).toString();
         if (isInteger) return new Lexeme(INT_LIT, currLineNumber, Integer.parseInt(numString));
         else return new Lexeme(FLOAT_LIT, currLineNumber, Double.parseDouble(numString));
     }
 
     public Lexeme lexString() {
         while ((peek() != '"' || peekPrevious() == '\\') && !isAtEnd()) advance();
-        String realStr = source.substring(startOfCurrLex + 1, currentPosition);
+        String realStr = source.subSequence(startOfCurrLex + 1, currentPosition).toString();
         if (isAtEnd()) {
             error("Unterminated String (line " + currLineNumber + ")");
             return null;
@@ -220,11 +277,11 @@ public class Lexer {
 
     public Lexeme lexIdentifierOrKeyword() {
         while (isAlphaNumeric(peek())) advance();
-        String text = source.substring(startOfCurrLex, currentPosition);
+        Symbol symbol = symbols.intern(source, startOfCurrLex, currentPosition);   // no String unless it is new
 
-        Types type = closedKeywords.get(text);
+        Types type = symbol.getKeyword();
 
-        return (type != null) ? new Lexeme(type, currLineNumber) : new Lexeme(IDENTIFIER, currLineNumber, text);
+        return (type != null) ? new Lexeme(type, currLineNumber) : new Lexeme(IDENTIFIER, currLineNumber, symbol);
     }
 
     public Lexeme handleMultiLineComment() {
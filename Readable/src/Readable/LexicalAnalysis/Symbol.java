@@ -0,0 +1,56 @@
+package Readable.LexicalAnalysis;
+
+public final class Symbol {
+    // A word of the program: an identifier's name, or a keyword. A SymbolTable makes one Symbol per distinct word, so
+    // names lexed against the same table are equal exactly when they are the same object. A symbol made anywhere
+    // else (a name the host passes in, say) still equals the interned one of the same name, just more slowly.
+
+    // ------------ Instance Variables ------------
+    private final String name;
+    private final int id;          // the order it was interned in its table, or -1 if in none
+    private final int hash;        // name.hashCode()
+    private final Types keyword;   // null unless the word is a keyword
+
+    // ------------ Constructors ------------
+    Symbol(String name, int id, int hash, Types keyword) {
+        this.name = name;
+        this.id = id;
+        this.hash = hash;
+        this.keyword = keyword;
+    }
+
+    public Symbol(String name) {
+        this(name, -1, name.hashCode(), null);
+    }
+
+    // ------------ Getters ------------
+    public String getName() {return name;}
+
+    public int getId() {return id;}
+
+    public Types getKeyword() {return keyword;}
+
+    boolean matches(CharSequence source, int start, int end) {
+        if (name.length() != end - start) return false;
+        for (int i = start; i < end; i++) if (name.charAt(i - start) != source.charAt(i)) return false;
+        return true;
+    }
+
+    boolean matches(char[] chars, int start, int end) {
+        if (name.length() != end - start) return false;
+        for (int i = start; i < end; i++) if (name.charAt(i - start) != chars[i]) return false;
+        return true;
+    }
+
+    // ------------ Equality ------------
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof Symbol symbol && hash == symbol.hash && name.equals(symbol.name);
+    }
+
+    @Override
+    public int hashCode() {return hash;}
+
+    @Override
+    public String toString() {return name;}
+}
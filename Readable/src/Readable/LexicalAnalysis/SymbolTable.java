@@ -0,0 +1,91 @@
+package Readable.LexicalAnalysis;
+
+import java.util.Map;
+
+public class SymbolTable {
+    // The symbols of one program, or of every program an engine runs: each distinct word once, keywords included.
+    // The lexer looks words up straight from the source text, so a word seen before costs no String. Open addressing
+    // over a power-of-two array, kept at most half full. For one thread at a time.
+
+    // ------------ Instance Variables ------------
+    private Symbol[] table = new Symbol[64];
+    private int size = 0;
+
+    // ------------ Constructor ------------
+    public SymbolTable() {
+        for (Map.Entry<String, Types> keyword : Lexer.closedKeywords.entrySet())
+            add(keyword.getKey(), keyword.getKey().hashCode(), keyword.getValue());
+    }
+
+    // ------------ Interning ------------
+    // The symbol for source[start, end).
+    public Symbol intern(CharSequence source, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) hash = 31 * hash + source.charAt(i);   // as String.hashCode
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            Symbol symbol = table[slot];
+            if (symbol == null) return add(source.subSequence(start, end).toString(), hash, null);
+            if (symbol.hashCode() == hash && symbol.matches(source, start, end)) return symbol;
+        }
+    }
+
+    // The symbol for chars[start, end), whose String.hashCode the caller has already worked out (see TableLexer).
+    Symbol intern(char[] chars, int start, int end, int hash) {
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            Symbol symbol = table[slot];
+            if (symbol == null) return add(new String(chars, start, end - start), hash, null);
+            if (symbol.hashCode() == hash && symbol.matches(chars, start, end)) return symbol;
+        }
+    }
+
+    public Symbol intern(String name) {
+        return intern(name, 0, name.length());
+    }
+
+    // This table's symbol for the name of one from another table; a new one shares the other's String.
+    Symbol intern(Symbol other) {
+        int hash = other.hashCode();
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            Symbol symbol = table[slot];
+            if (symbol == null) return add(other.getName(), hash, other.getKeyword());
+            if (symbol.hashCode() == hash && symbol.getName().equals(other.getName())) return symbol;
+        }
+    }
+
+    public int size() {return size;}
+
+    Symbol[] byId() {   // every symbol, in the order they were interned
+        Symbol[] symbols = new Symbol[size];
+        for (Symbol symbol : table) if (symbol != null) symbols[symbol.getId()] = symbol;
+        return symbols;
+    }
+
+    private Symbol add(String name, int hash, Types keyword) {
+        if (2 * (size + 1) > table.length) grow();
+        Symbol symbol = new Symbol(name, size++, hash, keyword);
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        while (table[slot] != null) slot = (slot + 1) & mask;
+        table[slot] = symbol;
+        return symbol;
+    }
+
+    private void grow() {
+        Symbol[] old = table;
+        table = new Symbol[old.length * 2];
+        int mask = table.length - 1;
+        for (Symbol symbol : old) {
+            if (symbol == null) continue;
+            int slot = spread(symbol.hashCode()) & mask;
+            while (table[slot] != null) slot = (slot + 1) & mask;
+            table[slot] = symbol;
+        }
+    }
+
+    private static int spread(int hash) {   // mixes the high bits in, since only the low ones pick the slot
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,274 @@
+package Readable.LexicalAnalysis;
+
+import Readable.Readable;
+import static Readable.LexicalAnalysis.Types.*;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Map;
+
+public class TableLexer {
+    // The same lexemes as Lexer, errors included, from a scanner driven by tables instead of per-character helper
+    // calls: each char's class comes from one array and the type of a one- or two-char token from another, and
+    // keywords are recognized by a perfect hash on their length and end letters before the symbol table is probed.
+    // It scans a char[] with the position kept in a local. See LexerBenchmark for how the two compare.
+
+    // ------------ Static Variables ------------
+    // Character classes (anything past ASCII is OTHER)
+    private static final byte OTHER = 0, TAB = 1, SPACE = 2, LINE_BREAK = 3, SINGLE = 4, PAIRED = 5, DOT = 6,
+            SLASH = 7, QUOTE = 8, DIGIT = 9, LETTER = 10;
+    private static final byte[] CLASSES = new byte[128];
+    private static final Types[] SINGLES = new Types[128];        // the token a char is on its own
+    private static final Types[] WITH_EQUALS = new Types[128];    // the token it is followed by '='
+
+    // Keywords, by (length + (first << 3) + last) & 31, which no two of them share
+    private static final char[][] KEYWORD_NAMES = new char[32][];
+    private static final Types[] KEYWORD_TYPES = new Types[32];
+
+    static {
+        CLASSES['\t'] = TAB;
+        CLASSES[' '] = SPACE;
+        CLASSES['\n'] = LINE_BREAK;
+        CLASSES['\r'] = LINE_BREAK;
+        CLASSES['.'] = DOT;
+        CLASSES['/'] = SLASH;
+        CLASSES['"'] = QUOTE;
+        for (char c = '0'; c <= '9'; c++) CLASSES[c] = DIGIT;
+        for (char c = 'a'; c <= 'z'; c++) CLASSES[c] = LETTER;
+        for (char c = 'A'; c <= 'Z'; c++) CLASSES[c] = LETTER;
+        CLASSES['_'] = LETTER;
+
+        single(':', COLON);
+        single('-', MINUS);
+        single('+', PLUS);
+        single('[', OSQUARE);
+        single(']', CSQUARE);
+        single('(', OPAREN);
+        single(')', CPAREN);
+        single('*', TIMES);
+        single(',', COMMA);
+        paired('>', GREATER_THAN_COMP, GREATER_OR_EQUAL_COMP);
+        paired('<', LESS_THAN_COMP, LESS_OR_EQUAL_COMP);
+        paired('!', NOT, NOT_EQUAL_COMP);
+        paired('=', ASSIGN, EQUALITY_COMP);   // and "=>", checked first
+
+        for (Map.Entry<String, Types> keyword : Lexer.closedKeywords.entrySet()) {
+            char[] name = keyword.getKey().toCharArray();
+            int slot = keywordSlot(name, 0, name.length);
+            if (KEYWORD_NAMES[slot] != null) throw new IllegalStateException("Keyword hash collision: " + keyword);
+            KEYWORD_NAMES[slot] = name;
+            KEYWORD_TYPES[slot] = keyword.getValue();
+        }
+    }
+
+    private static void single(char c, Types type) {
+        CLASSES[c] = SINGLE;
+        SINGLES[c] = type;
+    }
+
+    private static void paired(char c, Types alone, Types withEquals) {
+        CLASSES[c] = PAIRED;
+        SINGLES[c] = alone;
+        WITH_EQUALS[c] = withEquals;
+    }
+
+    // ------------ Instance Variables ------------
+    private final char[] chars;
+    private final int length;
+    private final SymbolTable symbols;
+
+    private int position = 0;
+    private int line = 1;
+
+    // ------------ Constructors ------------
+    public TableLexer(CharSequence sourceCode) {
+        this(sourceCode, new SymbolTable());
+    }
+
+    public TableLexer(CharSequence sourceCode, SymbolTable symbolTable) {
+        this(sourceCode.toString().toCharArray(), sourceCode.length(), symbolTable);
+    }
+
+    // Lexes chars[0, length); the array is the lexer's from then on.
+    public TableLexer(char[] sourceChars, int sourceLength, SymbolTable symbolTable) {
+        chars = sourceChars;
+        length = sourceLength;
+        symbols = symbolTable;
+    }
+
+    // Decodes the file, mapped, in the platform charset (as Lexer.mapped does with any file that is not ASCII).
+    public static TableLexer mapped(Path path, SymbolTable symbolTable) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            CharBuffer text = Charset.defaultCharset().decode(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size()));
+            return new TableLexer(text.array(), text.limit(), symbolTable);
+        }
+    }
+
+    public SymbolTable getSymbols() {return symbols;}
+
+    // ------------ Lexing ------------
+    public ArrayList<Lexeme> lex() {
+        ArrayList<Lexeme> lexemes = new ArrayList<>();
+        Lexeme lexeme;
+        do {
+            lexeme = next();
+            lexemes.add(lexeme);
+        } while (lexeme.getType() != EOF);
+        return lexemes;
+    }
+
+    // The next lexeme, or EOF (every time) once the source is used up.
+    public Lexeme next() {
+        final char[] chars = this.chars;
+        final int end = length;
+        int pos = position;
+        while (pos < end) {
+            int start = pos;
+            char c = chars[pos++];
+            switch (c < 128 ? CLASSES[c] : OTHER) {
+                case TAB:
+                    continue;
+                case SPACE: {   // four in a row make an indent; fewer are nothing
+                    int stop = Math.min(start + 4, end);
+                    while (pos < stop && chars[pos] == ' ') pos++;
+                    if (pos - start < 4) continue;
+                    position = pos;
+                    return new Lexeme(QUAD_SPACE, line);
+                }
+                case LINE_BREAK:
+                    position = pos;
+                    return new Lexeme(NEW_LINE, ++line);
+                case SINGLE:
+                    position = pos;
+                    return new Lexeme(SINGLES[c], line);
+                case PAIRED: {
+                    Types type = SINGLES[c];
+                    if (pos < end) {
+                        if (c == '=' && chars[pos] == '>') {
+                            type = RARROW;
+                            pos++;
+                        } else if (chars[pos] == '=') {
+                            type = WITH_EQUALS[c];
+                            pos++;
+                        }
+                    }
+                    position = pos;
+                    return new Lexeme(type, line);
+                }
+                case DOT:
+                    if (pos >= end || chars[pos] != '.') error("Missing Second '.' to Form Range Operator");
+                    position = pos + 1;
+                    return new Lexeme(RANGE, line);
+                case SLASH:
+                    if (pos < end && chars[pos] == '/') {
+                        while (pos < end && chars[pos] != '\n' && chars[pos] != '\r') pos++;
+                        continue;
+                    }
+                    if (pos < end && chars[pos] == '*') {
+                        pos = skipMultiLineComment(pos + 1);
+                        continue;
+                    }
+                    position = pos;
+                    return new Lexeme(DIVIDE, line);
+                case QUOTE:
+                    return lexString(start, pos);
+                case DIGIT:
+                    return lexNumber(start, pos);
+                case LETTER:
+                    return lexIdentifierOrKeyword(start, pos, c);
+                default:
+                    error("Unknown Character: " + c);
+            }
+        }
+        position = pos;
+        return new Lexeme(EOF, line);
+    }
+
+    private Lexeme lexIdentifierOrKeyword(int start, int pos, char first) {
+        final char[] chars = this.chars;
+        int hash = first;   // String.hashCode, worked out as the word is scanned
+        while (pos < length) {
+            char c = chars[pos];
+            if (c >= 128 || CLASSES[c] < DIGIT) break;   // DIGIT and LETTER are the last classes
+            hash = 31 * hash + c;
+            pos++;
+        }
+        position = pos;
+
+        int slot = keywordSlot(chars, start, pos);
+        char[] keyword = KEYWORD_NAMES[slot];
+        if (keyword != null && keyword.length == pos - start && isKeyword(keyword, start))
+            return new Lexeme(KEYWORD_TYPES[slot], line);
+        return new Lexeme(IDENTIFIER, line, symbols.intern(chars, start, pos, hash));
+    }
+
+    private static int keywordSlot(char[] chars, int start, int end) {
+        return (end - start + (chars[start] << 3) + chars[end - 1]) & 31;
+    }
+
+    private boolean isKeyword(char[] keyword, int start) {
+        for (int i = 0; i < keyword.length; i++) if (keyword[i] != chars[start + i]) return false;
+        return true;
+    }
+
+    private Lexeme lexNumber(int start, int pos) {
+        final char[] chars = this.chars;
+        long value = chars[start] - '0';
+        while (pos < length && isDigit(chars[pos])) {
+            if (value <= Integer.MAX_VALUE) value = 10 * value + chars[pos] - '0';
+            pos++;
+        }
+
+        if (pos < length && chars[pos] == '.' && !(pos + 1 < length && chars[pos + 1] == '.')) {
+            if (!(pos + 1 < length && isDigit(chars[pos + 1]))) error("Malformed Float (Ends in Decimal Point)");
+            pos++;
+            while (pos < length && isDigit(chars[pos])) pos++;
+            position = pos;
+            return new Lexeme(FLOAT_LIT, line, Double.parseDouble(new String(chars, start, pos - start)));
+        }
+
+        position = pos;
+        if (value > Integer.MAX_VALUE) Integer.parseInt(new String(chars, start, pos - start));   // fails as Lexer's does
+        return new Lexeme(INT_LIT, line, (int) value);
+    }
+
+    private Lexeme lexString(int start, int pos) {
+        final char[] chars = this.chars;
+        while (pos < length && (chars[pos] != '"' || chars[pos - 1] == '\\')) {
+            if (chars[pos] == '\n' || chars[pos] == '\r') line++;
+            pos++;
+        }
+        if (pos >= length) error("Unterminated String (line " + line + ")");
+        position = pos + 1;
+        return new Lexeme(STRING_LIT, line, new String(chars, start + 1, pos - start - 1));
+    }
+
+    // From just past "/*", the position just past the closing "*/". As in Lexer, the char right after "/*" never
+    // starts the closing "*/".
+    private int skipMultiLineComment(int pos) {
+        final char[] chars = this.chars;
+        if (pos < length && (chars[pos] == '\n' || chars[pos] == '\r')) line++;
+        pos++;
+        while (pos < length && !(chars[pos] == '*' && pos + 1 < length && chars[pos + 1] == '/')) {
+            if (chars[pos] == '\n' || chars[pos] == '\r') line++;
+            pos++;
+        }
+        if (pos >= length) error("Unterminated Multi-line Comment (line " + line + ")");
+        return pos + 2;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // ------------ Error Reporting ------------
+    private void error(String message) {
+        Readable.syntaxError(message, line);
+    }
+}
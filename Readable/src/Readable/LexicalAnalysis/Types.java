@@ -16,7 +16,7 @@ public enum Types {
     LESS_OR_EQUAL_COMP,
 
     // ------------ Keywords ------------
-    FUNC, RETURN, WHILE, FOREACH, IN, IF, ELSE, LAMBDA,
+    FUNC, RETURN, WHILE, FOREACH, IN, IF, ELSE, LAMBDA, BREAK, CONTINUE,
 
     // ------------ Boolean ------------
     AND, OR, NOT,
@@ -16,6 +16,7 @@ public class BlockParser {
     private ArrayList<Block> blockStack = new ArrayList<>();
     private ArrayList<Line> lines;
     private Line line;
+    private Lexeme statement;   // what goes in the block for line (see advance)
     private int place = -1;
 
     private Line advance() {
@@ -24,9 +25,19 @@ public class BlockParser {
             line = null;
         else
             line = lines.get(place);
+        statement = line == null ? null : statementOf(line.getParsed());
         return line;
     }
 
+    // A block statement's block hangs off a copy, so every line's tree stays as it was parsed and the same lines can
+    // be block-parsed again (see ParsedSource).
+    private Lexeme statementOf(Lexeme parsed) {
+        if (!newBlockPending()) return parsed;
+        Lexeme head = parsed.copy();
+        head.addAllChildren(parsed.getChildren());
+        return head;
+    }
+
     private Block getTop() {
         return blockStack.get(blockStack.size() - 1);
     }
@@ -42,11 +53,15 @@ public class BlockParser {
             handleLine(); advance();
         }
         popLeftoverBlocks();
-        return reformCond(getTop().getHead());
+        Lexeme parsed = reformCond(getTop().getHead());
+        parsed.freeze();   // nothing changes the tree's shape after this (see Lexeme)
+        return parsed;
     }
 
     private Lexeme reformCond(Lexeme root) { // Sloppy, yes. But does it work? YES.
-        if (root.getType() == STATEMENT_LIST) {
+        if (root.isFrozen()) {   // within one line (see Line.parse), so no blocks to reform
+            return root;
+        } else if (root.getType() == STATEMENT_LIST) {
             return reformStatementList(root);
         } else if (root.getChildren().size() > 0) {
             Lexeme newRoot = root.copy();
@@ -119,7 +134,7 @@ public class BlockParser {
     }
 
     private void addToCurrBlock() {
-        getTop().addChild(line.getParsed());
+        getTop().addChild(statement);
     }
 
     private void optConsumeNewBlock() {
@@ -127,6 +142,10 @@ public class BlockParser {
             error("A function can only be defined in the global scope or within another functon.", line.getParsed());
             return;
         }
+        if (loopControlOutsideLoop()) {
+            error("'break' and 'continue' can only be used inside a loop.", line.getParsed());
+            return;
+        }
         if (newBlockPending()) {
             pushBlock();
         }
@@ -139,8 +158,19 @@ public class BlockParser {
                         getTop().getHead().getType() == IF);
     }
 
+    private boolean loopControlOutsideLoop() {  // the nearest enclosing loop must be within the same function
+        Types type = line.getParsed().getType();
+        if (type != BREAK && type != CONTINUE) return false;
+        for (int i = blockStack.size() - 1; i > 0; i--) {
+            Types head = blockStack.get(i).getHead().getType();
+            if (head == WHILE || head == FOREACH) return false;
+            if (head == FUNC) return true;
+        }
+        return true;
+    }
+
     private void pushBlock() {
-        Block newBlock = new Block(line.getParsed(), getTop().getVLine() + 1);
+        Block newBlock = new Block(statement, getTop().getVLine() + 1);
         blockStack.add(newBlock);
     }
 
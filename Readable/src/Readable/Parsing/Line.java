@@ -7,7 +7,7 @@ import java.util.ArrayList;
 
 public class Line {
     private int vLine = 0;
-    private final ArrayList<Lexeme> lexemes;
+    private ArrayList<Lexeme> lexemes;   // dropped once parsed
     private Lexeme parsed;
 
     public Line(ArrayList<Lexeme> lexes) {
@@ -15,12 +15,20 @@ public class Line {
         exciseQuadSpaces();
     }
 
+    private Line(int vLine, Lexeme parsed) {
+        this.vLine = vLine;
+        this.parsed = parsed;
+    }
+
     public void parse() {
         parsed = new LineParser(lexemes).program();
+        lexemes = null;
+        for (Lexeme child : parsed.getChildren()) child.freeze();   // only the root can still get a block (see Block)
     }
 
     public String toString() {
         String str = "LINE (vLine = " + vLine + "):";
+        if (lexemes == null) return str + "\n    " + parsed;
         for (Lexeme lex : lexemes) {
             str += "\n    " + lex.toString();
         }
@@ -31,6 +39,8 @@ public class Line {
 
     public Lexeme getParsed() {return parsed;}
 
+    public Line moved(int delta) {return new Line(vLine, parsed.movedCopy(delta));}   // see ParsedSource
+
     private void exciseQuadSpaces() {
         while (lexemes.get(0).getType() == Types.QUAD_SPACE) {
             vLine++;
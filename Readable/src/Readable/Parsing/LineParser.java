@@ -42,7 +42,7 @@ public class LineParser {
     }
 
     private Lexeme consume(Types expected) {
-        if (check(expected)) {Lexeme toReturn = currentLexeme.copy(); advance(); return toReturn;}
+        if (check(expected)) return advance();   // each lexeme is consumed once, so the tree can have it as it is
         error("Expected " + expected + " but found " + currentLexeme + ".");
         return new Lexeme(ERROR, currentLexeme.getLine());
     }
@@ -68,6 +68,8 @@ public class LineParser {
             return functionDefinition();
         } else if (check(RETURN)) {
             return returnStatement();
+        } else if (loopControlPending()) {
+            return loopControl();
         } else if (check(IDENTIFIER)) {
             if (checkNext(OPAREN)) return functionCall();
             else return variableInitializationAssignment();
@@ -154,7 +156,15 @@ public class LineParser {
     }
 
     private Lexeme expression() {
-        return firstBinaryExpression();
+        Lexeme left = firstBinaryExpression();
+        if (check(RANGE)) {
+            Lexeme root = consume(RANGE);
+            root.addChild(left);
+            root.addChild(firstBinaryExpression());
+            return root;
+        } else {
+            return left;
+        }
     }
 
     private Lexeme firstBinaryExpression() {
@@ -357,6 +367,11 @@ public class LineParser {
         return root;
     }
 
+    private Lexeme loopControl() {
+        if (check(BREAK)) return consume(BREAK);
+        return consume(CONTINUE);
+    }
+
     private Lexeme functionDefinition() {
         Lexeme root = consume(FUNC);
         root.addChild(consume(IDENTIFIER));
@@ -417,7 +432,7 @@ public class LineParser {
     private Lexeme iterable() {
         if (arrPending()) {
             return arr();
-        } else if (check(INT_LIT) || check(IDENTIFIER)) {
+        } else if (check(INT_LIT) || check(IDENTIFIER) || check(STRING_LIT)) {
             if (checkNext(COLON)) return consume(peek());
             else return range();
         } else if (expressionPending()) {
@@ -428,10 +443,8 @@ public class LineParser {
     }
 
     private Lexeme range() {
-        Lexeme op1 = expression();
-        Lexeme root = consume(RANGE);
-        root.addChild(op1);
-        root.addChild(expression());
+        Lexeme root = expression();
+        if (root.getType() != RANGE) return error("Expected range but did not receive one.");
         return root;
     }
 
@@ -466,7 +479,7 @@ public class LineParser {
     private boolean progStatementPending() {
         return functionDefinitionPending() || functionCallPending() || variableInitializationAssignmentPending()
                 || conditionalStatementPending() || loopStatementPending() || lambdaInitializationPending()
-                || elseBlockPending() || check(RETURN);
+                || elseBlockPending() || check(RETURN) || loopControlPending();
     }
 
     private boolean functionDefinitionPending() {
@@ -489,6 +502,10 @@ public class LineParser {
         return check(WHILE) || check(FOREACH);
     }
 
+    private boolean loopControlPending() {
+        return check(BREAK) || check(CONTINUE);
+    }
+
     private boolean lambdaInitializationPending() {
         return check(LAMBDA);
     }
@@ -0,0 +1,347 @@
+package Readable.Parsing;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
+import Readable.LexicalAnalysis.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class ParsedSource {
+    // A source and its parse tree, kept up to date through edits (for editors and hot reloading). The source is held
+    // as segments. A segment runs from one line break that ends a line (one outside a string or comment) through
+    // the next, and holds that line's Line. An edit re-lexes from the first segment it touches only until the lexer
+    // is back at an old segment boundary, and parses only the new segments' lines. BlockParser then runs again over
+    // just the top-level statements around them. Every other top-level statement, and the tree of every unchanged
+    // line, is kept. If the edit added or removed lines, those after it are kept as copies with their line numbers
+    // moved, so a tree shares only what is unchanged with the trees before it, and every tree handed out stays as it
+    // was.
+    // An edit that leaves a syntax error keeps the source, with no tree, and getError gives the error Parser would
+    // have thrown. Later edits carry on from there. A lexing error (say, a string that is opened but not yet closed)
+    // leaves the segments from the edit on unlexed, and the next edit re-lexes from there until it is back in step.
+
+    // ------------ Instance Variables ------------
+    private final StringBuilder text;
+    private final SymbolTable symbols;
+    private final ArrayList<Segment> segments = new ArrayList<>();
+    private int lineErrors = 0;          // segments whose line failed to parse
+    private int statementCount = 0;      // top-level statements in the last tree
+
+    private Lexeme program;              // null while there is an error
+    private RuntimeException error;
+    private int staleFrom = -1;          // segments[staleFrom, staleTo) no longer match the source, after a lexing
+    private int staleTo;                 // error; the ones after have been moved along with the source
+    private int dirtyFrom, dirtyTo;      // segments whose top-level statements still need BlockParser, while error
+    private int movingLine;              // in moveLines: the next of the moved lines a statement takes in
+
+    // ------------ Constructors ------------
+    public ParsedSource(CharSequence source) {
+        this(source, new SymbolTable());
+    }
+
+    public ParsedSource(CharSequence source, SymbolTable symbolTable) {
+        text = new StringBuilder(source);
+        symbols = symbolTable;
+        parseAll();
+    }
+
+    // ------------ Getters ------------
+    public Lexeme getProgram() {return program;}   // null if there is an error
+
+    public RuntimeException getError() {return error;}   // the first syntax error, as Parser would throw it
+
+    public String getSource() {return text.toString();}
+
+    public SymbolTable getSymbols() {return symbols;}
+
+    // ------------ Editing ------------
+    // Replaces source[start, end) with replacement, then brings the tree up to date.
+    public void edit(int start, int end, String replacement) {
+        if (start < 0 || end < start || end > text.length())
+            throw new IndexOutOfBoundsException("Edit [" + start + ", " + end + ") of a " + text.length()
+                    + "-char source");
+        text.replace(start, end, replacement);
+        if (segments.isEmpty()) {   // the whole source failed to lex
+            parseAll();
+            return;
+        }
+
+        int shift = replacement.length() - (end - start);
+        int first = segmentAt(start);
+        int from = first + 1;   // the first old segment lexing could fall back in step with
+        while (from < segments.size() && startOf(from) < end) from++;
+        if (staleFrom >= 0) {
+            first = Math.min(first, staleFrom);
+            from = Math.max(from, staleTo);
+        }
+
+        Segment at = segments.get(first);
+        List<Segment> fresh = new ArrayList<>();
+        int resumeAt;
+        try {
+            resumeAt = lexSegments(at.start, at.firstLine, from, shift, fresh);
+        } catch (RuntimeException lexingError) {
+            lexingFailed(lexingError, first, from, shift, fresh);
+            return;
+        }
+        staleFrom = -1;
+        replace(first, resumeAt, fresh, shift);
+    }
+
+    private void parseAll() {
+        segments.clear();
+        lineErrors = 0;
+        staleFrom = -1;
+        List<Segment> fresh = new ArrayList<>();
+        try {
+            lexSegments(0, 1, 0, 0, fresh);
+        } catch (RuntimeException lexingError) {
+            program = null;
+            error = firstError(fresh);   // a line before it that failed to parse comes first, as in Parser
+            if (error == null) error = lexingError;
+            return;
+        }
+        segments.addAll(fresh);
+        for (Segment segment : fresh) if (segment.error != null) lineErrors++;
+        update(0, segments.size());
+    }
+
+    // Keeps segments as they are, but for moving the ones after the edit, and marks segments[first, from) stale.
+    private void lexingFailed(RuntimeException lexingError, int first, int from, int shift, List<Segment> fresh) {
+        if (program != null) dirtyFrom = dirtyTo = first;   // the stale segments will be dirty once lexed
+        for (int i = from; i < segments.size(); i++) segments.get(i).start += shift;
+        staleFrom = first;
+        staleTo = from;
+        program = null;
+        error = firstError(segments.subList(0, first));   // a line before it that failed to parse comes first
+        if (error == null) error = firstError(fresh);
+        if (error == null) error = lexingError;
+    }
+
+    // ------------ Segments ------------
+    // Lexes new segments into fresh, from position start (on line firstLine), parsing each one's line. It stops once
+    // a segment ends where an old one, from index resync on, starts after moving by shift; that index is returned.
+    // Otherwise it goes to the end of the source and returns segments.size().
+    private int lexSegments(int start, int firstLine, int resync, int shift, List<Segment> fresh) {
+        Lexer lexer = new Lexer(text, start, text.length(), firstLine, symbols);
+        ArrayList<Lexeme> lexemes = new ArrayList<>();
+        int segmentStart = start;
+        int segmentLine = firstLine;
+        while (true) {
+            Lexeme lexeme = lexer.next();
+            if (lexeme.getType() != NEW_LINE && lexeme.getType() != EOF) {
+                lexemes.add(lexeme);
+                continue;
+            }
+            int segmentEnd = lexeme.getType() == EOF ? text.length() : lexer.getPosition();
+            // the line the next segment starts on (a NEW_LINE's getLine is the line it ends)
+            int nextLine = lexeme.getType() == EOF ? lexeme.getLine() : lexeme.getLine() + 1;
+            fresh.add(new Segment(segmentStart, segmentLine, segmentEnd - segmentStart, nextLine - segmentLine,
+                    lexemes, lexeme));
+            if (lexeme.getType() == EOF) return segments.size();
+
+            while (resync < segments.size() && segments.get(resync).start + shift < segmentEnd) resync++;
+            if (resync < segments.size() && segments.get(resync).start + shift == segmentEnd) return resync;
+            lexemes = new ArrayList<>();
+            segmentStart = segmentEnd;
+            segmentLine = nextLine;
+        }
+    }
+
+    // Puts fresh in place of segments[first, resumeAt), moving the ones after by shift chars and however many lines
+    // fresh adds, then updates the tree.
+    private void replace(int first, int resumeAt, List<Segment> fresh, int shift) {
+        int lines = 0;
+        for (Segment segment : fresh) {
+            lines += segment.lines;
+            if (segment.error != null) lineErrors++;
+        }
+        for (Segment segment : segments.subList(first, resumeAt)) {
+            lines -= segment.lines;
+            if (segment.error != null) lineErrors--;
+        }
+        int growth = fresh.size() - (resumeAt - first);
+        segments.subList(first, resumeAt).clear();
+        segments.addAll(first, fresh);
+
+        int freshEnd = first + fresh.size();
+        for (int i = freshEnd; i < segments.size(); i++) segments.get(i).start += shift;
+        if (lines != 0) moveLines(freshEnd, lines);
+        if (lines != 0 && lineErrors > 0) reparseErrors(freshEnd);   // their messages name the old lines
+
+        if (program != null) update(first, freshEnd);   // otherwise, dirty covers what went before as well
+        else update(Math.min(moved(dirtyFrom, first, resumeAt, growth), first),
+                Math.max(moved(dirtyTo, first, resumeAt, growth), freshEnd));
+    }
+
+    private static int moved(int index, int first, int resumeAt, int growth) {   // where a segment index went
+        if (index <= first) return index;
+        return index >= resumeAt ? index + growth : first;
+    }
+
+    private void reparseErrors(int from) {
+        for (int i = from; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (segment.error == null) continue;
+            List<Segment> fresh = new ArrayList<>();
+            lexSegments(segment.start, segment.firstLine, i + 1, 0, fresh);   // it lexed before, so it will again
+            segments.set(i, fresh.get(0));
+            if (fresh.get(0).error == null) lineErrors--;
+        }
+    }
+
+    private int segmentAt(int position) {   // the last segment starting at or before position
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (startOf(middle) <= position) low = middle;
+            else high = middle - 1;
+        }
+        return low;
+    }
+
+    private int startOf(int index) {   // stale segments all start where the first of them does
+        if (staleFrom >= 0 && index > staleFrom && index < staleTo) return segments.get(staleFrom).start;
+        return segments.get(index).start;
+    }
+
+    private static RuntimeException firstError(List<Segment> segments) {
+        for (Segment segment : segments) if (segment.error != null) return segment.error;
+        return null;
+    }
+
+    // ------------ Blocks ------------
+    // Runs BlockParser again over the top-level statements that take in segments[from, to), as they are now and as
+    // they were (the statement before from may have run into them), then puts the program back together around them.
+    private void update(int from, int to) {
+        program = null;
+        dirtyFrom = from;
+        dirtyTo = to;
+        if (lineErrors > 0) {
+            error = firstError(segments);
+            return;
+        }
+
+        do from--; while (from > 0 && !segments.get(from).startsStatement());
+        from = Math.max(from, 0);
+        while (to < segments.size() && !segments.get(to).startsStatement()) to++;
+        ArrayList<Line> lines = new ArrayList<>();
+        for (Segment segment : segments.subList(from, to)) if (segment.line != null) lines.add(segment.line);
+        Lexeme parsed;
+        try {
+            parsed = new BlockParser(lines).getParsed();
+        } catch (RuntimeException blockError) {
+            error = blockError;
+            return;
+        }
+
+        List<Lexeme> statements = parsed.getChild(0).getChildren();
+        int next = 0;
+        for (Segment segment : segments.subList(from, to))
+            segment.statement = segment.startsStatement() ? statements.get(next++) : null;
+
+        ArrayList<Lexeme> all = new ArrayList<>(statementCount);
+        for (Segment segment : segments) if (segment.statement != null) all.add(segment.statement);
+        statementCount = all.size();
+        Lexeme statementList = new Lexeme(STATEMENT_LIST);   // as BlockParser makes them
+        statementList.addAllChildren(all);
+        program = new Lexeme(PROG);
+        program.addChild(statementList);
+        program.freeze();
+        error = null;
+    }
+
+    // ------------ Moving Lines ------------
+    // Moves segments[from, end) delta lines down. Each line's tree is replaced with a moved copy, and each statement
+    // with a copy remade over those (see moved).
+    private void moveLines(int from, int delta) {
+        Lexeme[] before = new Lexeme[segments.size() - from];   // the lines' trees as they were
+        for (int i = 0; i < before.length; i++) before[i] = segments.get(from + i).moveLines(delta);
+        for (int i = 0; i < before.length; i++) {
+            Segment segment = segments.get(from + i);
+            if (segment.statement == null) continue;
+            movingLine = i;
+            segment.statement = moved(segment.statement, before, from);
+        }
+    }
+
+    // A statement as BlockParser would make it over the moved lines. Its lexemes stand, in source order, for the
+    // blocks and conditionals BlockParser added, or for lines: a line's own tree, or a copy of its root holding the
+    // root's children and then the root's block. Null for a statement left over from an error that no longer matches
+    // its lines; the next update makes it again.
+    private Lexeme moved(Lexeme statement, Lexeme[] before, int from) {
+        if (statement.getType() == STATEMENT_LIST || statement.getType() == CONDITIONAL_BLOCK) {
+            Lexeme copy = statement.copy();
+            for (Lexeme child : statement.getChildren()) {
+                Lexeme movedChild = moved(child, before, from);
+                if (movedChild == null) return null;
+                copy.addChild(movedChild);
+            }
+            return copy;
+        }
+        while (movingLine < before.length && before[movingLine] == null) movingLine++;
+        if (movingLine == before.length) return null;
+        Lexeme root = before[movingLine];
+        Lexeme movedRoot = segments.get(from + movingLine++).line.getParsed();
+        if (statement == root) return movedRoot;
+
+        List<Lexeme> children = root.getChildren();
+        if (statement.getType() != root.getType() || statement.getChildren().size() < children.size()) return null;
+        for (int i = 0; i < children.size(); i++) if (statement.getChild(i) != children.get(i)) return null;
+        Lexeme copy = movedRoot.copy();
+        copy.addAllChildren(movedRoot.getChildren());
+        for (Lexeme block : statement.getChildren().subList(children.size(), statement.getChildren().size())) {
+            Lexeme movedBlock = moved(block, before, from);
+            if (movedBlock == null) return null;
+            copy.addChild(movedBlock);
+        }
+        return copy;
+    }
+
+    // ------------ Segment ------------
+    private static final class Segment {
+        private int start;                 // where it starts in the source
+        private int firstLine;             // the line it starts on
+        private final int length;          // in chars, through the line break that ends it (the last has none)
+        private final int lines;           // line breaks in it, that one included
+        private Line line;                 // null if it has no lexemes
+        private final RuntimeException error;   // from parsing line, in place of its tree
+        private Lexeme statement;          // the top-level statement that starts here, if one does
+
+        Segment(int start, int firstLine, int length, int lines, ArrayList<Lexeme> lexemes, Lexeme end) {
+            this.start = start;
+            this.firstLine = firstLine;
+            this.length = length;
+            this.lines = lines;
+            RuntimeException parseError = null;
+            if (lexemes.isEmpty()) {
+                line = null;
+            } else {
+                lexemes.add(new Lexeme(EOL, end.getLine()));   // as Parser ends its lines
+                line = new Line(lexemes);
+                try {
+                    line.parse();
+                } catch (RuntimeException lineError) {
+                    parseError = lineError;
+                }
+            }
+            error = parseError;
+        }
+
+        boolean startsStatement() {   // a top-level line other than an else, which joins the if before it
+            if (line == null || line.getVLine() != 0) return false;
+            return line.getParsed().getType() != ELSE_IF && line.getParsed().getType() != ELSE;
+        }
+
+        Lexeme moveLines(int delta) {   // returns its line's tree from before, if it has one
+            firstLine += delta;
+            if (line == null || error != null) return null;
+            Lexeme before = line.getParsed();
+            line = line.moved(delta);
+            return before;
+        }
+    }
+}
@@ -1,27 +1,58 @@
 package Readable.Parsing;
 
 import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Lexer;
 import Readable.Readable;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static Readable.LexicalAnalysis.Types.*;
 
 public class Parser {
+    // Lines are parsed on their own, a batch at a time as their lexemes come in; then BlockParser nests the lines
+    // into blocks. Given a Lexer rather than its finished list, the parser asks it for lexemes a line at a time, so
+    // the lexemes of the whole program never exist at once. With more than one core, each batch is parsed on the
+    // common fork-join pool while this thread goes on lexing. Whichever error comes first in the source is the one
+    // thrown, just as if every line had been parsed in turn.
+
+    // ------------ Static Variables ------------
+    private static final int BATCH = 256;   // lines per parse task
+    private static final boolean PARALLEL = Runtime.getRuntime().availableProcessors() > 1;
+
     // ------------ Instance Variables ------------
-    private final ArrayList<Lexeme> lexemes;
+    private final ArrayList<Lexeme> lexemes;   // null when streaming from lexer
+    private final Lexer lexer;
     private ArrayList<Line> lines = new ArrayList<>();
+    private final ArrayList<ForkJoinTask<RuntimeException>> batches = new ArrayList<>();   // in line order
+    private int handedOff = 0;                 // lines before this one are in a batch
+    private volatile boolean failed = false;   // a batch stopped at an error, so no later line matters
     private Lexeme parsed;
 
-    // ------------ Constructor ------------
+    // ------------ Constructors ------------
     public Parser(ArrayList<Lexeme> lexemeList) {
         lexemes = lexemeList;
+        lexer = null;
+    }
+
+    public Parser(Lexer lexer) {
+        lexemes = null;
+        this.lexer = lexer;
     }
 
     // ------------ Consumption Functions ------------
     public Lexeme program() {
-        takeLines();
-        for (Line line : lines) line.parse();
+        RuntimeException stopped = null;
+        try {
+            takeLines();
+        } catch (RuntimeException error) {   // from lexing (or, on one core, parsing): after every line taken so far
+            stopped = error;
+        }
+        RuntimeException parsingError = finishParsing();
+        if (parsingError != null) throw parsingError;
+        if (stopped != null) throw stopped;
         return (new BlockParser(lines)).getParsed();
     }
 
@@ -29,13 +60,54 @@ public class Parser {
 
     private void takeLines() {
         ArrayList<Lexeme> currLine = new ArrayList<>();
-        for (Lexeme lex : lexemes) {
+        int next = 0;
+        Lexeme lex;
+        do {
+            lex = lexer != null ? lexer.next() : lexemes.get(next++);
             if (lex.getType() == NEW_LINE || lex.getType() == EOF) {
-                if (currLine.size() > 0) {currLine.add(new Lexeme(EOL, lex.getLine())); lines.add(new Line(currLine));}
+                if (currLine.size() > 0) {currLine.add(new Lexeme(EOL, lex.getLine())); takeLine(currLine);}
                 currLine = new ArrayList<>();
             } else {
                 currLine.add(lex);
             }
+        } while (lex.getType() != EOF && !failed);
+    }
+
+    private void takeLine(ArrayList<Lexeme> lexemes) {
+        lines.add(new Line(lexemes));
+        if (lines.size() - handedOff == BATCH) handOff();
+    }
+
+    // ------------ Line Parsing ------------
+
+    private void handOff() {
+        List<Line> batch = new ArrayList<>(lines.subList(handedOff, lines.size()));
+        handedOff = lines.size();
+        if (PARALLEL) {
+            batches.add(ForkJoinPool.commonPool().submit(() -> parse(batch)));
+        } else {
+            RuntimeException error = parse(batch);
+            if (error != null) throw error;
+        }
+    }
+
+    // Parses the lines no batch took, then waits for the batches: the first error in line order, or null.
+    private RuntimeException finishParsing() {
+        RuntimeException lastError = failed ? null : parse(lines.subList(handedOff, lines.size()));
+        for (ForkJoinTask<RuntimeException> batch : batches) {
+            RuntimeException error = batch.join();
+            if (error != null) return error;
+        }
+        return lastError;
+    }
+
+    private RuntimeException parse(List<Line> batch) {   // stops at the batch's first error and returns it
+        try {
+            for (Line line : batch) line.parse();
+            return null;
+        } catch (RuntimeException error) {
+            failed = true;
+            return error;
         }
     }
 }
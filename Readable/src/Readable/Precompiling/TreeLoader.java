@@ -0,0 +1,132 @@
+package Readable.Precompiling;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Symbol;
+import Readable.LexicalAnalysis.SymbolTable;
+import Readable.LexicalAnalysis.Types;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static Readable.Precompiling.TreeWriter.*;
+
+public class TreeLoader {
+    // Rebuilds the parse tree a TreeWriter wrote, frozen as the Parser would hand it over and ready for the Resolver.
+    // The file is memory-mapped and decoded in one pass; every string is decoded once, and identifiers are interned
+    // in a SymbolTable as the Lexer would have.
+
+    // ------------ Static Variables ------------
+    private static final Types[] TYPES = Types.values();
+
+    // ------------ Instance Variables ------------
+    private final ByteBuffer buffer;
+    private final SymbolTable symbolTable;
+    private String[] strings;
+    private Symbol[] symbols;   // by string index, interned when an identifier first uses it
+    private int line;   // of the lexeme read last
+
+    // ------------ Constructor ------------
+    public TreeLoader(ByteBuffer buffer, SymbolTable symbolTable) {
+        this.buffer = buffer;
+        this.symbolTable = symbolTable;
+    }
+
+    // ------------ Loading ------------
+    public static Lexeme load(Path path) throws IOException {
+        return load(path, new SymbolTable());
+    }
+
+    public static Lexeme load(Path path, SymbolTable symbolTable) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return new TreeLoader(mapped, symbolTable).load();
+            } catch (IOException exception) {
+                throw new IOException(path + ": " + exception.getMessage());
+            }
+        }
+    }
+
+    public Lexeme load() throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) throw new IOException("not a .readc file.");
+            int version = buffer.get() & 0xFF;
+            if (version != VERSION) throw new IOException("written in format " + version + ", not " + VERSION + ".");
+            if (buffer.getInt() != TYPES_CHECKSUM)
+                throw new IOException("written by a version of Readable with different lexeme types; recompile it.");
+            line = 0;
+            strings = new String[readCount(1)];
+            for (int i = 0; i < strings.length; i++) strings[i] = readString(readCount(1));
+            symbols = new Symbol[strings.length];
+            Lexeme program = readLexeme();
+            program.freeze();
+            return program;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException exception) {
+            throw new IOException("truncated or corrupt .readc file.");
+        } catch (StackOverflowError error) {
+            throw new IOException("nested too deeply to load.");
+        }
+    }
+
+    // A count or length read from the file, checked before anything is made that big: each of the things counted takes
+    // at least the given number of bytes, so a count the rest of the file cannot hold is corrupt.
+    private int readCount(int minimumBytes) throws IOException {
+        int count = readVarInt();
+        if (count < 0 || count > buffer.remaining() / minimumBytes)
+            throw new IOException("truncated or corrupt .readc file.");
+        return count;
+    }
+
+    private String readString(int length) {
+        if (buffer.hasArray()) {
+            String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                    StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return string;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Lexeme readLexeme() throws IOException {
+        int tag = buffer.get() & 0xFF;
+        if (tag >= TYPES.length) throw new IOException("unknown lexeme type " + tag + ".");
+        Types type = TYPES[tag];
+        int shape = buffer.get() & 0xFF;
+        int children = shape >> CHILDREN_SHIFT;
+        if (children == SPILLED_CHILDREN) children = readCount(2);   // a type and a shape each, at the least
+        if ((shape & SAME_LINE) == 0) line += readVarInt();
+        Lexeme lexeme = switch (shape & PAYLOAD_MASK) {
+            case INT_PAYLOAD -> new Lexeme(type, line, readVarInt());
+            case FLOAT_PAYLOAD -> new Lexeme(type, line, buffer.getDouble());
+            case STRING_PAYLOAD -> type == Types.IDENTIFIER ? new Lexeme(type, line, symbol(readVarInt()))
+                    : new Lexeme(type, line, strings[readVarInt()]);
+            default -> new Lexeme(type, line);
+        };
+        for (int i = 0; i < children; i++) lexeme.addChild(readLexeme());
+        return lexeme;
+    }
+
+    private Symbol symbol(int index) {
+        if (symbols[index] == null) symbols[index] = symbolTable.intern(strings[index]);
+        return symbols[index];
+    }
+
+    private int readVarInt() {   // see TreeWriter.writeVarInt
+        int bits = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            bits |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+}
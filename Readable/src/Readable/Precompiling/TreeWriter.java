@@ -0,0 +1,119 @@
+package Readable.Precompiling;
+
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Types;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class TreeWriter {
+    // Writes a parse tree as a .readc file, which TreeLoader turns back into the same tree without lexing or parsing.
+    // Only what the Parser produced is kept; resolution is redone on load, since it depends on the engine running it.
+    //
+    // Layout (counts, lengths, lines, indices and int literals are variable-length; see writeVarInt):
+    //   header   MAGIC, VERSION, TYPES_CHECKSUM (ordinals are only meaningful for the same enum)
+    //   strings  count, then each as a UTF-8 length and bytes, in first-use order; every name and string literal
+    //            in the tree is one of these, so repeated identifiers are stored (and loaded) once
+    //   tree     the root, each lexeme written as its type ordinal; a shape byte holding the payload kind, whether
+    //            it is on the line of the lexeme written before it and its child count (SPILLED_CHILDREN if there
+    //            are too many, the count following); if not on that line, the difference; its payload (an int, an
+    //            8-byte double or a string index); then its children in order
+
+    // ------------ Static Variables ------------
+    static final int MAGIC = 0x52454443;   // "REDC"
+    static final int VERSION = 2;
+    static final int TYPES_CHECKSUM = typesChecksum();
+
+    static final int NO_PAYLOAD = 0;
+    static final int INT_PAYLOAD = 1;
+    static final int FLOAT_PAYLOAD = 2;
+    static final int STRING_PAYLOAD = 3;
+    static final int PAYLOAD_MASK = 0b11;
+    static final int SAME_LINE = 0b100;
+    static final int CHILDREN_SHIFT = 3;
+    static final int SPILLED_CHILDREN = 0xFF >> CHILDREN_SHIFT;
+
+    // ------------ Instance Variables ------------
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private int line;   // of the lexeme written last
+
+    // ------------ Writing ------------
+    public static void write(Lexeme program, Path path) throws IOException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            new TreeWriter().write(program, out);
+        }
+    }
+
+    public void write(Lexeme program, OutputStream stream) throws IOException {
+        strings.clear();
+        line = 0;
+        collectStrings(program);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(TYPES_CHECKSUM);
+        writeVarInt(out, strings.size());
+        for (String string : strings.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+        writeLexeme(out, program);
+        out.flush();
+    }
+
+    private void collectStrings(Lexeme lexeme) {
+        if (lexeme.getStringValue() != null) strings.putIfAbsent(lexeme.getStringValue(), strings.size());
+        for (Lexeme child : lexeme.getChildren()) collectStrings(child);
+    }
+
+    private void writeLexeme(DataOutputStream out, Lexeme lexeme) throws IOException {
+        int payload;
+        if (lexeme.getStringValue() != null) payload = STRING_PAYLOAD;
+        else if (lexeme.getDecValue() != 0 || lexeme.getType() == Types.FLOAT_LIT) payload = FLOAT_PAYLOAD;
+        else if (lexeme.getIntValue() != 0) payload = INT_PAYLOAD;
+        else payload = NO_PAYLOAD;
+        int children = lexeme.getChildren().size();
+
+        int lexemeLine = lexeme.getType() == Types.NEW_LINE ? lexeme.getLine() + 1 : lexeme.getLine();   // undo getLine
+
+        out.writeByte(lexeme.getType().ordinal());
+        out.writeByte(Math.min(children, SPILLED_CHILDREN) << CHILDREN_SHIFT | (lexemeLine == line ? SAME_LINE : 0)
+                | payload);
+        if (children >= SPILLED_CHILDREN) writeVarInt(out, children);
+        if (lexemeLine != line) writeVarInt(out, lexemeLine - line);
+        line = lexemeLine;
+        switch (payload) {
+            case STRING_PAYLOAD -> writeVarInt(out, strings.get(lexeme.getStringValue()));
+            case FLOAT_PAYLOAD -> out.writeDouble(lexeme.getDecValue());
+            case INT_PAYLOAD -> writeVarInt(out, lexeme.getIntValue());
+        }
+        for (Lexeme child : lexeme.getChildren()) writeLexeme(out, child);
+    }
+
+    // Of every type's name in ordinal order, so adding, removing, renaming or reordering a type turns old files away.
+    private static int typesChecksum() {
+        CRC32 crc = new CRC32();
+        for (Types type : Types.values()) crc.update((type.name() + "\n").getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    // Seven bits a byte, low bits first, the high bit set on every byte but the last. Zigzag-encoded first so small
+    // negative numbers (a line of -1) stay short.
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        int bits = (value << 1) ^ (value >> 31);
+        while ((bits & ~0x7F) != 0) {
+            out.writeByte((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        out.writeByte(bits);
+    }
+}
@@ -3,98 +3,90 @@
 
 package Readable;
 
-import Readable.Environments.Environment;
-import Readable.Evaluating.Evaluator;
+import Readable.Embedding.ReadableEngine;
+import Readable.Embedding.ReadableEngine.Backend;
 import Readable.LexicalAnalysis.Lexeme;
 import Readable.LexicalAnalysis.Lexer;
+import Readable.LexicalAnalysis.SymbolTable;
 import Readable.Parsing.Parser;
+import Readable.Precompiling.TreeLoader;
+import Readable.Precompiling.TreeWriter;
+import Readable.ReadableException.Kind;
+import Readable.Values.Value;
 
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 
 public class Readable {
-    private static final ArrayList<String> syntaxErrorMessages = new ArrayList<>();
-    private static final ArrayList<String> runtimeErrorMessages = new ArrayList<>();
+    // The command line: runs one file in a fresh engine and prints the error, if any, that stopped it. Programs
+    // embedded in a Java application go through ReadableEngine directly.
 
     public static void main(String[] args) throws IOException {
         try {
-            if (args.length == 1) runFile(args[0]);
+            if (args.length == 1) runFile(args[0], Backend.TREE);
+            else if (args.length == 2 && args[0].matches("--engine=(tree|vm)"))
+                runFile(args[1], args[0].equals("--engine=vm") ? Backend.VM : Backend.TREE);
+            else if (args.length == 2 && args[0].equals("--precompile")) precompileFile(args[1]);
             else {
-                System.out.println("Usage: Readable [path to .read file]");
+                System.out.println("Usage: Readable [--engine=tree|vm] [path to .read or .readc file]");
+                System.out.println("       Readable --precompile [path to .read file]");
                 System.exit(64);
             }
         } catch (IOException exception) {
             throw new IOException(exception.toString());
+        } catch (ReadableException error) {
+            printError(error);
+            System.exit(65);   // This is deliberate.
         }
-        printErrors();
     }
 
-    private static String getSourceCodeFromFile(String path) throws IOException {
-        byte[] bytes = Files.readAllBytes(Paths.get(path));
-        return new String(bytes, Charset.defaultCharset());
+    private static Lexeme parseFile(String path, SymbolTable symbols) throws IOException {   // lexed as it is parsed
+        return new Parser(Lexer.mapped(Paths.get(path), symbols)).program();
     }
 
-    private static void runFile(String path) throws IOException {
+    private static void runFile(String path, Backend backend) throws IOException {
         System.out.println("Running " + path + "...");
-        String source = getSourceCodeFromFile(path);
-
-        // Lexing
-        Lexer lexer = new Lexer(source);
-        ArrayList<Lexeme> lexemes = lexer.lex();
-
-        // Recognizing
-        Parser parsing = new Parser(lexemes);
-        Lexeme parseTree = parsing.program();
-
-        // Environments
-        Environment globalEnvironment = new Environment();
+        ReadableEngine engine = new ReadableEngine(backend, System.out);
+        if (path.endsWith(".readc")) engine.run(TreeLoader.load(Paths.get(path), engine.getSymbols()));   // no parsing
+        else engine.run(parseFile(path, engine.getSymbols()));
+    }
 
-        // Evaluation
-        Evaluator evaluator = new Evaluator();
-        evaluator.eval(parseTree, globalEnvironment);
+    // Writes the parse tree of path to path + "c" (program.read to program.readc), to be run in its place.
+    private static void precompileFile(String path) throws IOException {
+        TreeWriter.write(parseFile(path, new SymbolTable()), Paths.get(path + "c"));
+        System.out.println("Wrote " + path + "c");
     }
 
     // ------------ Errors ------------
+    // Each of these stops the program by throwing; whoever ran it (the command line or a ReadableEngine) reports it.
 
     public static void syntaxError(String message, int lineNumber) {
-        syntaxErrorMessages.add("Syntax Error (line " + lineNumber + "): " + message);
-        printErrors();
-        System.exit(65);   // This is deliberate.
+        throw new ReadableException(Kind.SYNTAX, "Syntax Error (line " + lineNumber + "): " + message);
     }
 
     public static void syntaxError(String message, Lexeme lexeme) {
-        syntaxErrorMessages.add("Syntax error at " + lexeme + ": " + message);
-        printErrors();
-        System.exit(65);   // This is deliberate.
+        throw new ReadableException(Kind.SYNTAX, "Syntax error at " + lexeme + ": " + message);
     }
 
     public static void runtimeError(String message, int lineNumber) {
-        runtimeErrorMessages.add("Runtime Error (line " + lineNumber + "): " + message);
-        printErrors();
-        System.exit(65);
+        throw new ReadableException(Kind.RUNTIME, "Runtime Error (line " + lineNumber + "): " + message);
     }
 
     public static void runtimeError(String message, Lexeme lexeme) {
-        runtimeErrorMessages.add("Runtime error at " + lexeme + ": " + message);
-        printErrors();
-        System.exit(65);
+        throw new ReadableException(Kind.RUNTIME, "Runtime error at " + lexeme + ": " + message);
     }
 
-    private static void printErrors() {
+    public static void runtimeError(String message, Value value) {
+        throw new ReadableException(Kind.RUNTIME, "Runtime error at " + value + ": " + message);
+    }
+
+    private static void printError(ReadableException error) {
         final String ANSI_YELLOW = "\u001B[33m";
         final String ANSI_RED_BACKGROUND = "\u001B[41m";
         final String ANSI_RESET = "\u001B[0m";
 
-        for (String syntaxErrorMessage : syntaxErrorMessages) {
-            System.out.println(ANSI_YELLOW + syntaxErrorMessage + ANSI_RESET);
-        }
-
-        for (String runtimeErrorMessage : runtimeErrorMessages) {
-            System.out.println(ANSI_RED_BACKGROUND + runtimeErrorMessage + ANSI_RESET);
-        }
+        String color = error.getKind() == Kind.SYNTAX ? ANSI_YELLOW : ANSI_RED_BACKGROUND;
+        System.out.println(color + error.getMessage() + ANSI_RESET);
     }
 
 }
@@ -0,0 +1,24 @@
+package Readable;
+
+public class ReadableException extends RuntimeException {
+    // A syntax or runtime error in a Readable program. The message is the whole report, as the command line prints
+    // it. Raised through Readable.syntaxError and Readable.runtimeError; nothing is recorded anywhere else, so
+    // programs running on separate threads cannot see each other's errors.
+
+    public enum Kind {SYNTAX, RUNTIME}
+
+    // ------------ Static Variables ------------
+    private static final long serialVersionUID = 1L;
+
+    // ------------ Instance Variables ------------
+    private final Kind kind;
+
+    // ------------ Constructor ------------
+    public ReadableException(Kind kind, String message) {
+        super(message, null, false, false);   // the program's line is in the message; a Java stack trace adds nothing
+        this.kind = kind;
+    }
+
+    // ------------ Getters ------------
+    public Kind getKind() {return kind;}
+}
@@ -0,0 +1,242 @@
+package Readable.Resolving;
+
+import Readable.Environments.BuiltInTable;
+import Readable.LexicalAnalysis.Lexeme;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+public class Resolver {
+    // ------------ Instance Variables ------------
+    private final BuiltInTable builtIns;
+    private Scope scope;
+    private boolean dynamicFunction = false;  // set when the current function's layout cannot be predicted
+    private int sites;                        // operator sites and function definitions numbered so far
+
+    // ------------ Constructors ------------
+    public Resolver() {
+        this(BuiltInTable.standard());
+    }
+
+    public Resolver(BuiltInTable builtIns) {
+        this.builtIns = builtIns;
+    }
+
+    // ------------ Resolving ------------
+    // Mirrors the environments the Evaluator creates and tags every IDENTIFIER it can with the (depth, slot) of its
+    // binding. Identifiers left untagged fall back to the by-name lookup in Environment. Operator sites and function
+    // definitions are numbered from 0, for the tables a run keeps about them (see Feedback).
+    public Lexeme resolve(Lexeme program) {
+        return resolve(program, List.of());
+    }
+
+    // For a program run in a global environment that already holds bindings: their names, in slot order.
+    public Lexeme resolve(Lexeme program, List<String> globals) {
+        scope = Scope.global(globals);
+        sites = 0;
+        resolveNode(program);
+        return program;
+    }
+
+    private void resolveNode(Lexeme tree) {
+        if (tree == null) return;
+        switch (tree.getType()) {
+            case IDENTIFIER -> resolveRead(tree);
+            case ASS -> resolveAss(tree);
+            case FOREACH -> resolveForeach(tree);
+            case WHILE -> resolveWhileLoop(tree);
+            case CONDITIONAL_BLOCK -> resolveCond(tree);
+            case FUNC, LAMBDA -> resolveFunctionDefinition(tree);
+            case PLUS, MINUS, TIMES, DIVIDE, GREATER_THAN_COMP, GREATER_OR_EQUAL_COMP, LESS_OR_EQUAL_COMP,
+                    LESS_THAN_COMP, EQUALITY_COMP, NOT_EQUAL_COMP, AND, OR -> {
+                tree.setSite(sites++);
+                resolveChildren(tree);
+            }
+            default -> resolveChildren(tree);
+        }
+    }
+
+    private void resolveChildren(Lexeme tree) {
+        for (Lexeme child : tree.getChildren()) resolveNode(child);
+    }
+
+    private void resolveBlock(Lexeme block) {
+        Scope enclosing = scope;
+        scope = new Scope(enclosing);
+        resolveNode(block);
+        scope = enclosing;
+    }
+
+    // ------------ Variables ------------
+    private void resolveRead(Lexeme identifier) {
+        String name = identifier.getStringValue();
+        if (builtIns.contains(name)) {  // built-in names can never be re-bound
+            identifier.setBuiltInReference();
+            return;
+        }
+        int depth = 0;
+        for (Scope s = scope; s != null && s.isModeled(); s = s.getParent(), depth++) {
+            int slot = s.slotOf(name);
+            if (slot >= 0) {
+                identifier.setResolution(depth, slot);
+                return;
+            }
+        }
+        identifier.clearResolution();
+    }
+
+    private void resolveAss(Lexeme tree) {
+        resolveNode(tree.getChild(1));
+        Lexeme identifier = tree.getChild(0);
+        String name = identifier.getStringValue();
+        if (builtIns.contains(name)) {  // assigning to a built-in is a no-op, leave it to the by-name path
+            identifier.clearResolution();
+            return;
+        }
+        int depth = 0;
+        for (Scope s = scope; s != null; s = s.getParent(), depth++) {
+            if (!s.isModeled()) {
+                if (s.mayContain(name)) {   // may update a captured global instead of declaring a local
+                    dynamicFunction = true;
+                    identifier.clearResolution();
+                    return;
+                }
+                break;
+            }
+            int slot = s.slotOf(name);
+            if (slot >= 0) {
+                identifier.setResolution(depth, slot);
+                return;
+            }
+        }
+        identifier.setResolution(0, scope.declare(name));
+    }
+
+    // ------------ Loops and Conditionals ------------
+    private void resolveForeach(Lexeme tree) {
+        Lexeme iterable = tree.getChild(1);
+        resolveNode(iterable);
+        Scope enclosing = scope;
+        scope = new Scope(enclosing);
+        Lexeme identifier = tree.getChild(0);
+        identifier.setResolution(0, scope.declare(identifier.getStringValue()));
+        resolveNode(tree.getChild(2));
+        scope = enclosing;
+    }
+
+    private void resolveWhileLoop(Lexeme tree) {
+        resolveNode(tree.getChild(0));
+        resolveBlock(tree.getChild(1));
+    }
+
+    private void resolveCond(Lexeme tree) {
+        for (Lexeme branch : tree.getChildren()) {
+            if (branch.getType() == ELSE) {
+                resolveBlock(branch.getChild(0));
+            } else {
+                resolveNode(branch.getChild(0));
+                resolveBlock(branch.getChild(1));
+            }
+        }
+    }
+
+    // ------------ Functions ------------
+    private void resolveFunctionDefinition(Lexeme tree) {  // lambdas share the FUNC layout (name, params, body)
+        tree.setSite(sites++);
+        Scope capture = declareFunction(tree);
+        resolveFunction(capture, tree.getChild(1), tree.getChild(2));
+        if (tree.getType() == LAMBDA && tree.getChild(2).getType() == FUNC_CALL)
+            tree.getChild(2).setTailCall();   // a lambda's body is the expression it returns
+    }
+
+    private Scope declareFunction(Lexeme tree) {
+        Scope capture = captureReferenced(tree);
+        String functionName = tree.getChild(0).getStringValue();
+        scope.declare(functionName);
+        capture.declare(functionName);
+        return capture;
+    }
+
+    // A function keeps only the bindings of its enclosing frames that some identifier in it (nested functions
+    // included) names, nearest first, so defining it costs O(captured) and keeps nothing else of those frames alive.
+    // The chosen bindings and their (depth, slot) are recorded on the definition for Environment.getFunctionEnv.
+    private Scope captureReferenced(Lexeme tree) {
+        Map<String, Lexeme> referenced = new HashMap<>();
+        collectNames(tree, referenced);
+        ArrayList<String> captured = new ArrayList<>();
+        ArrayList<Lexeme> identifiers = new ArrayList<>();
+        ArrayList<Integer> depths = new ArrayList<>();
+        ArrayList<Integer> slots = new ArrayList<>();
+        Scope frame = scope;   // out to the global scope, or a global function's captures: those are kept whole
+        for (int depth = 0; frame.isModeled() && (depth == 0 || !frame.isGlobal()); depth++) {
+            for (int slot = 0; slot < frame.size(); slot++) {
+                Lexeme identifier = referenced.remove(frame.nameAt(slot));   // hiding any binding further out
+                if (identifier == null) continue;
+                captured.add(identifier.getStringValue());
+                identifiers.add(identifier);
+                depths.add(depth);
+                slots.add(slot);
+            }
+            if (frame.isGlobal()) break;
+            frame = frame.getParent();
+        }
+        tree.setCaptures(identifiers.toArray(new Lexeme[0]), depths.stream().mapToInt(Integer::intValue).toArray(),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+        return scope.isGlobal() ? Scope.globalCapture(captured) : Scope.closure(frame, captured);
+    }
+
+    private void collectNames(Lexeme tree, Map<String, Lexeme> names) {
+        if (tree.getType() == IDENTIFIER) names.putIfAbsent(tree.getStringValue(), tree);
+        for (Lexeme child : tree.getChildren()) collectNames(child, names);
+    }
+
+    private void resolveFunction(Scope capture, Lexeme paramList, Lexeme body) {
+        Scope enclosing = scope;
+        boolean enclosingDynamic = dynamicFunction;
+        scope = new Scope(capture);
+        dynamicFunction = false;
+
+        if (paramList.getType() == ARB_PARAM_LIST) {
+            scope.declare(paramList.getChild(0).getStringValue());
+        } else if (paramList.getType() == PARAM_LIST) {
+            for (Lexeme param : paramList.getChildren()) scope.declare(param.getChild(0).getStringValue());
+        }
+        resolveNode(body);
+        if (dynamicFunction) clearResolutions(body);
+        markTailCalls(body);
+
+        scope = enclosing;
+        dynamicFunction = enclosingDynamic;
+    }
+
+    private void clearResolutions(Lexeme tree) {  // frames in here may hold bindings the Resolver cannot see
+        if (tree.getType() == IDENTIFIER) tree.clearResolution();
+        else if (tree.getType() == FUNC || tree.getType() == LAMBDA) tree.clearCaptures();
+        for (Lexeme child : tree.getChildren()) clearResolutions(child);
+    }
+
+    // ------------ Tail Calls ------------
+    // A return of a call (or a lambda's call) is a tail call when its value goes straight back to the function's
+    // caller, which is true anywhere in the body, its conditionals and its loops, but not in functions defined inside
+    // it.
+    private void markTailCalls(Lexeme tree) {
+        switch (tree.getType()) {
+            case STATEMENT_LIST -> {
+                for (Lexeme statement : tree.getChildren()) markTailCalls(statement);
+            }
+            case WHILE, FOREACH -> markTailCalls(tree.getChild(tree.getChildren().size() - 1));
+            case CONDITIONAL_BLOCK -> {
+                for (Lexeme branch : tree.getChildren())
+                    markTailCalls(branch.getChild(branch.getChildren().size() - 1));
+            }
+            case RETURN -> {
+                if (tree.getChild(0).getType() == FUNC_CALL) tree.setTailCall();
+            }
+            default -> {}
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package Readable.Resolving;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Scope {
+    // ------------ Instance Variables ------------
+    private final Scope parent;
+    private final ArrayList<String> names;
+    private final boolean modeled;   // false when the runtime layout of this scope cannot be predicted
+    private final boolean global;
+
+    // ------------ Constructors ------------
+    private Scope(Scope parent, ArrayList<String> names, boolean modeled, boolean global) {
+        this.parent = parent;
+        this.names = names;
+        this.modeled = modeled;
+        this.global = global;
+    }
+
+    public Scope(Scope parent) {
+        this(parent, new ArrayList<>(), true, false);
+    }
+
+    public static Scope global(List<String> defined) {
+        return new Scope(null, new ArrayList<>(defined), true, true);
+    }
+
+    // A function defined in the global scope captures only those of the named globals holding functions when it is
+    // defined (see Environment.getFunctionEnv), so which slots exist there is only known at runtime.
+    public static Scope globalCapture(ArrayList<String> captured) {
+        return new Scope(null, captured, false, false);
+    }
+
+    // A function defined anywhere else captures the named bindings of its enclosing frames, nearest first, over the
+    // top of the chain they are in (the global scope, or a global function's captures), which it keeps.
+    public static Scope closure(Scope top, ArrayList<String> captured) {
+        return new Scope(top, captured, true, false);
+    }
+
+    // ------------ Declarations ------------
+    public int declare(String name) {
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    public int slotOf(String name) {
+        return names.indexOf(name);
+    }
+
+    public boolean mayContain(String name) {
+        return names.contains(name);
+    }
+
+    public int size() {return names.size();}
+
+    public String nameAt(int slot) {return names.get(slot);}
+
+    // ------------ Getters ------------
+    public Scope getParent() {return parent;}
+
+    public boolean isModeled() {return modeled;}
+
+    public boolean isGlobal() {return global;}
+}
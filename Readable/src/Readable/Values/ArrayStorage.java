@@ -0,0 +1,395 @@
+package Readable.Values;
+
+import java.util.Arrays;
+
+import static Readable.LexicalAnalysis.Types.*;
+
+abstract class ArrayStorage {
+    // How an ArrayValue keeps its elements. Arrays of only ints, only floats or only booleans keep them unboxed in a
+    // primitive array; anything else falls back to a persistent vector of Values. Storing a value the current storage
+    // cannot hold makes the array swap itself to the generic one (see ArrayValue), which is the only way storage ever
+    // changes.
+    //
+    // take() on a primitive storage shares its array, seeing only the first count elements of it. The storages sharing
+    // an array also share its extent: how far into it any of them has written. The one whose size is the extent may
+    // still append in place, since no other reads that far; any other write copies the array first.
+
+    // ------------ Instance Variables ------------
+    protected int size = 0;
+    protected boolean shared = false;
+    protected int[] extent = {0};   // kept up to date only while shared
+
+    // ------------ Choosing ------------
+    static ArrayStorage forValue(Value value, int capacity) {
+        return switch (value.getType()) {
+            case INT_LIT -> new IntStorage(capacity);
+            case FLOAT_LIT -> new FloatStorage(capacity);
+            case TRUE, FALSE -> new BoolStorage(capacity);
+            default -> new VectorStorage();
+        };
+    }
+
+    // ------------ Access ------------
+    int size() {return size;}
+
+    abstract boolean accepts(Value value);   // set() and add() may only be given values this accepts
+
+    abstract Value get(int index);
+
+    abstract void set(int index, Value value);
+
+    abstract void add(Value value);
+
+    abstract ArrayStorage take(int count);   // the first count elements, in a storage of the same kind
+
+    // Appends from another storage of the same class without going through Values.
+    abstract void addAllSame(ArrayStorage other);
+
+    VectorStorage generalize() {
+        VectorStorage general = new VectorStorage();
+        for (int i = 0; i < size; i++) general.add(get(i));
+        return general;
+    }
+
+    protected int grown(int length) {
+        return Math.max(length + (length >> 1), Math.max(size + 1, 4));
+    }
+
+    // ------------ Sharing ------------
+    protected void share(ArrayStorage taken) {
+        if (!shared) extent[0] = size;
+        shared = true;
+        taken.shared = true;
+        taken.extent = extent;
+    }
+
+    protected boolean appendable(int count, int capacity) {   // without copying the array
+        return size + count <= capacity && (!shared || size == extent[0]);
+    }
+
+    protected void appended(int count) {
+        size += count;
+        if (shared) extent[0] = size;
+    }
+
+    protected void unshare() {   // after copying the array
+        shared = false;
+        extent = new int[1];
+    }
+
+    // ------------ Int ------------
+    static final class IntStorage extends ArrayStorage {
+        private int[] items;
+
+        IntStorage(int capacity) {items = new int[capacity];}
+
+        private IntStorage(int[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        private void reserve(int count) {   // room to write count more elements at size
+            if (appendable(count, items.length)) return;
+            items = Arrays.copyOf(items, Math.max(size + count, grown(items.length)));
+            unshare();
+        }
+
+        private void own() {   // before writing below size, where other storages may read
+            if (!shared) return;
+            items = Arrays.copyOf(items, grown(size));
+            unshare();
+        }
+
+        @Override
+        boolean accepts(Value value) {return value.getType() == INT_LIT;}
+
+        @Override
+        Value get(int index) {return IntValue.of(items[index]);}
+
+        @Override
+        void set(int index, Value value) {
+            own();
+            items[index] = value.getIntValue();
+        }
+
+        @Override
+        void add(Value value) {addInt(value.getIntValue());}
+
+        void addInt(int value) {
+            reserve(1);
+            items[size] = value;
+            appended(1);
+        }
+
+        @Override
+        ArrayStorage take(int count) {
+            IntStorage taken = new IntStorage(items, count);
+            share(taken);
+            return taken;
+        }
+
+        @Override
+        void addAllSame(ArrayStorage other) {
+            IntStorage ints = (IntStorage) other;
+            int count = ints.size;   // read first: other may be this storage
+            int[] source = ints.items;
+            reserve(count);
+            System.arraycopy(source, 0, items, size, count);
+            appended(count);
+        }
+    }
+
+    // ------------ Float ------------
+    static final class FloatStorage extends ArrayStorage {
+        private double[] items;
+
+        FloatStorage(int capacity) {items = new double[capacity];}
+
+        private FloatStorage(double[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        private void reserve(int count) {
+            if (appendable(count, items.length)) return;
+            items = Arrays.copyOf(items, Math.max(size + count, grown(items.length)));
+            unshare();
+        }
+
+        private void own() {
+            if (!shared) return;
+            items = Arrays.copyOf(items, grown(size));
+            unshare();
+        }
+
+        @Override
+        boolean accepts(Value value) {return value.getType() == FLOAT_LIT;}
+
+        @Override
+        Value get(int index) {return new FloatValue(-1, items[index]);}
+
+        @Override
+        void set(int index, Value value) {
+            own();
+            items[index] = value.getDecValue();
+        }
+
+        @Override
+        void add(Value value) {
+            reserve(1);
+            items[size] = value.getDecValue();
+            appended(1);
+        }
+
+        @Override
+        ArrayStorage take(int count) {
+            FloatStorage taken = new FloatStorage(items, count);
+            share(taken);
+            return taken;
+        }
+
+        @Override
+        void addAllSame(ArrayStorage other) {
+            FloatStorage floats = (FloatStorage) other;
+            int count = floats.size;
+            double[] source = floats.items;
+            reserve(count);
+            System.arraycopy(source, 0, items, size, count);
+            appended(count);
+        }
+    }
+
+    // ------------ Boolean ------------
+    static final class BoolStorage extends ArrayStorage {
+        private boolean[] items;
+
+        BoolStorage(int capacity) {items = new boolean[capacity];}
+
+        private BoolStorage(boolean[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        private void reserve(int count) {
+            if (appendable(count, items.length)) return;
+            items = Arrays.copyOf(items, Math.max(size + count, grown(items.length)));
+            unshare();
+        }
+
+        private void own() {
+            if (!shared) return;
+            items = Arrays.copyOf(items, grown(size));
+            unshare();
+        }
+
+        @Override
+        boolean accepts(Value value) {return value instanceof BoolValue;}
+
+        @Override
+        Value get(int index) {return BoolValue.of(items[index]);}
+
+        @Override
+        void set(int index, Value value) {
+            own();
+            items[index] = ((BoolValue) value).isTrue();
+        }
+
+        @Override
+        void add(Value value) {
+            reserve(1);
+            items[size] = ((BoolValue) value).isTrue();
+            appended(1);
+        }
+
+        @Override
+        ArrayStorage take(int count) {
+            BoolStorage taken = new BoolStorage(items, count);
+            share(taken);
+            return taken;
+        }
+
+        @Override
+        void addAllSame(ArrayStorage other) {
+            BoolStorage bools = (BoolStorage) other;
+            int count = bools.size;
+            boolean[] source = bools.items;
+            reserve(count);
+            System.arraycopy(source, 0, items, size, count);
+            appended(count);
+        }
+    }
+
+    // ------------ Generic ------------
+    // A persistent vector: a 32-way trie of Nodes plus a tail array for the last, partly filled leaf. take() shares
+    // the whole trie with the array it came from; from then on neither side writes into a shared node in place, but
+    // copies the path from the root down to the leaf it changes (at most a few nodes of 32 slots). Nodes this storage
+    // made since the last share carry its edit token and are written in place, so plain appends stay cheap.
+    static final class VectorStorage extends ArrayStorage {
+        private static final int BITS = 5;
+        private static final int WIDTH = 1 << BITS;
+        private static final int MASK = WIDTH - 1;
+
+        private static final class Node {
+            final Object edit;
+            final Object[] array;
+
+            Node(Object edit, Object[] array) {
+                this.edit = edit;
+                this.array = array;
+            }
+
+            Node(Object edit) {this(edit, new Object[WIDTH]);}
+        }
+
+        private static final Node EMPTY = new Node(null);   // no edit token matches null, so it is never written
+
+        private Object edit = new Object();
+        private int shift = BITS;
+        private Node root = EMPTY;
+        private Value[] tail = new Value[WIDTH];   // never shared: take() copies it
+
+        VectorStorage() {}
+
+        @Override
+        boolean accepts(Value value) {return true;}
+
+        private int tailOffset() {return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;}
+
+        private Object[] leafFor(int index) {
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) node = (Node) node.array[(index >>> level) & MASK];
+            return node.array;
+        }
+
+        @Override
+        Value get(int index) {
+            if (index >= tailOffset()) return tail[index & MASK];
+            return (Value) leafFor(index)[index & MASK];
+        }
+
+        @Override
+        void set(int index, Value value) {
+            if (index >= tailOffset()) tail[index & MASK] = value;
+            else root = assoc(shift, root, index, value);
+        }
+
+        private Node assoc(int level, Node node, int index, Value value) {
+            Node copy = editable(node);
+            if (level == 0) {
+                copy.array[index & MASK] = value;
+            } else {
+                int child = (index >>> level) & MASK;
+                copy.array[child] = assoc(level - BITS, (Node) node.array[child], index, value);
+            }
+            return copy;
+        }
+
+        @Override
+        void add(Value value) {
+            if (size - tailOffset() == WIDTH) {   // the tail is full: it becomes a leaf of the trie
+                Node leaf = new Node(edit, tail);
+                tail = new Value[WIDTH];
+                if ((size >>> BITS) > (1 << shift)) {   // and the trie is full: it grows a level
+                    Node newRoot = new Node(edit);
+                    newRoot.array[0] = root;
+                    newRoot.array[1] = newPath(shift, leaf);
+                    root = newRoot;
+                    shift += BITS;
+                } else {
+                    root = pushLeaf(shift, root, leaf);
+                }
+                tail[0] = value;
+            } else {
+                tail[size - tailOffset()] = value;
+            }
+            size++;
+        }
+
+        private Node pushLeaf(int level, Node parent, Node leaf) {
+            Node copy = editable(parent);
+            int child = ((size - 1) >>> level) & MASK;
+            if (level == BITS) {
+                copy.array[child] = leaf;
+            } else {
+                Node existing = (Node) parent.array[child];   // may be left over from before a take(); reused
+                copy.array[child] = existing != null ? pushLeaf(level - BITS, existing, leaf)
+                        : newPath(level - BITS, leaf);
+            }
+            return copy;
+        }
+
+        private Node newPath(int level, Node leaf) {
+            if (level == 0) return leaf;
+            Node node = new Node(edit);
+            node.array[0] = newPath(level - BITS, leaf);
+            return node;
+        }
+
+        private Node editable(Node node) {
+            return node.edit == edit ? node : new Node(edit, node.array.clone());
+        }
+
+        @Override
+        ArrayStorage take(int count) {
+            VectorStorage taken = new VectorStorage();
+            if (count == 0) return taken;
+            edit = new Object();   // the trie is shared from here on: neither side may write it in place
+            taken.root = root;
+            taken.shift = shift;
+            taken.size = count;
+            int offset = taken.tailOffset();
+            Object[] leaf = offset >= tailOffset() ? tail : leafFor(offset);
+            System.arraycopy(leaf, 0, taken.tail, 0, count - offset);
+            return taken;
+        }
+
+        @Override
+        void addAllSame(ArrayStorage other) {
+            int count = other.size;
+            for (int i = 0; i < count; i++) add(other.get(i));
+        }
+
+        @Override
+        VectorStorage generalize() {return this;}
+    }
+}
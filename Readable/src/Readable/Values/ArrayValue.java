@@ -0,0 +1,141 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class ArrayValue extends Value {
+    // A mutable array. Its elements live in an ArrayStorage chosen by what they are: an array of ints is an int[],
+    // not a list of boxed values. Elements of a primitive storage come back as computed values (line -1).
+
+    // ------------ Instance Variables ------------
+    private ArrayStorage storage;
+
+    // ------------ Constructors ------------
+    public ArrayValue(int line, List<Value> elements) {
+        super(line);
+        if (elements != null) {
+            storage = elements.isEmpty() ? null : ArrayStorage.forValue(elements.get(0), elements.size());
+            for (Value element : elements) add(element);
+        }
+    }
+
+    public ArrayValue(List<Value> elements) {
+        this(-1, elements);
+    }
+
+    public ArrayValue(int line) {
+        this(line, List.of());
+    }
+
+    public ArrayValue() {
+        this(-1);
+    }
+
+    // An array that keeps its elements as given, never unboxed.
+    public static ArrayValue generic() {
+        return new ArrayValue(-1, new ArrayStorage.VectorStorage());
+    }
+
+    ArrayValue(int line, ArrayStorage storage) {
+        super(line);
+        this.storage = storage;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.ARR;}
+
+    @Override
+    public Object getValue() {return toList();}
+
+    // Null while the array is empty and has never held anything, so the first element picks the storage.
+    protected ArrayStorage storage() {return storage;}
+
+    public int size() {
+        ArrayStorage items = storage();
+        return items == null ? 0 : items.size();
+    }
+
+    public Value get(int index) {return storage().get(index);}
+
+    public ArrayList<Value> toList() {
+        ArrayList<Value> list = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) list.add(get(i));
+        return list;
+    }
+
+    // Sees elements replaced while iterating, but stops at the length the array had when it started.
+    public Iterator<Value> iterator() {
+        return new Iterator<>() {
+            private final int end = size();
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {return index < Math.min(end, size());}
+
+            @Override
+            public Value next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return get(index++);
+            }
+        };
+    }
+
+    // ------------ Setters ------------
+    public void set(int index, Value value) {
+        ArrayStorage items = storage();
+        if (!items.accepts(value)) items = generalize();
+        items.set(index, value);
+    }
+
+    public void add(Value value) {
+        ArrayStorage items = storage();
+        if (items == null) items = storage = ArrayStorage.forValue(value, 4);
+        else if (!items.accepts(value)) items = generalize();
+        items.add(value);
+    }
+
+    public void addAll(ArrayValue other) {
+        ArrayStorage items = storage();
+        ArrayStorage others = other.storage();
+        int count = other.size();
+        if (count == 0) return;
+        if (items == null) items = storage = others.take(0);   // an empty storage of the same kind
+        if (items.getClass() == others.getClass()) {
+            items.addAllSame(others);
+        } else {
+            for (int i = 0; i < count; i++) add(other.get(i));
+        }
+    }
+
+    // The first 'count' elements, in a new array with storage of the same kind, which shares this one's.
+    public ArrayValue take(int line, int count) {
+        ArrayStorage items = storage();
+        return new ArrayValue(line, items == null || count <= 0 ? null : items.take(Math.min(count, items.size())));
+    }
+
+    void replaceStorage(ArrayStorage storage) {
+        this.storage = storage;
+    }
+
+    private ArrayStorage generalize() {
+        storage = storage().generalize();
+        return storage;
+    }
+
+    // ------------ Printing ------------
+    @Override
+    public String printRepr() {
+        if (size() == 0) return "[]";
+        StringBuilder s = new StringBuilder("[" + get(0).printRepr());
+        for (int i = 1; i < size(); i++) s.append(", ").append(get(i).printRepr());
+        return s.append("]").toString();
+    }
+
+    @Override
+    protected String getRepr() {return String.valueOf(toList());}
+}
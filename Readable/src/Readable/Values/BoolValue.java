@@ -0,0 +1,38 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+public class BoolValue extends Value {
+    // ------------ Static Variables ------------
+    public static final BoolValue TRUE = new BoolValue(true);     // every computed boolean is one of these two;
+    public static final BoolValue FALSE = new BoolValue(false);   // literals keep their own for the line number
+
+    // ------------ Instance Variables ------------
+    private final boolean value;
+
+    // ------------ Constructors ------------
+    public BoolValue(int line, boolean value) {
+        super(line);
+        this.value = value;
+    }
+
+    private BoolValue(boolean value) {
+        this(-1, value);
+    }
+
+    public static BoolValue of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return value ? Types.TRUE : Types.FALSE;}
+
+    public boolean isTrue() {return value;}
+
+    @Override
+    public Object getValue() {return value;}
+
+    @Override
+    protected String getRepr() {return String.valueOf(value);}
+}
@@ -0,0 +1,32 @@
+package Readable.Values;
+
+import Readable.Evaluating.Library.BuiltInInterface;
+import Readable.LexicalAnalysis.Types;
+
+import java.util.ArrayList;
+
+public class BuiltInValue extends Value {
+    // ------------ Instance Variables ------------
+    private final BuiltInInterface func;
+
+    // ------------ Constructor ------------
+    public BuiltInValue(BuiltInInterface func) {
+        super(-1);
+        this.func = func;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.BUILT_IN_FUNC;}
+
+    public Value call(ArrayList<Value> args, int line) {return func.call(args, line);}
+
+    public Value call0(int line) {return func.call0(line);}
+
+    public Value call1(Value arg, int line) {return func.call1(arg, line);}
+
+    public Value call2(Value left, Value right, int line) {return func.call2(left, right, line);}
+
+    @Override
+    public String printRepr() {return "[bltIn]";}
+}
@@ -0,0 +1,27 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+public class FloatValue extends Value {
+    // ------------ Instance Variables ------------
+    private final double value;
+
+    // ------------ Constructor ------------
+    public FloatValue(int line, double value) {
+        super(line);
+        this.value = value;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.FLOAT_LIT;}
+
+    @Override
+    public double getDecValue() {return value;}
+
+    @Override
+    public Object getValue() {return value;}
+
+    @Override
+    protected String getRepr() {return String.valueOf(value);}
+}
@@ -0,0 +1,31 @@
+package Readable.Values;
+
+import Readable.Environments.Environment;
+import Readable.LexicalAnalysis.Lexeme;
+import Readable.LexicalAnalysis.Types;
+
+public class FunctionValue extends Value {
+    // A tree-walker closure: the FUNC (or LAMBDA) tree paired with the environment it was defined in.
+
+    // ------------ Instance Variables ------------
+    private final Lexeme function;
+    private final Environment definingEnv;
+
+    // ------------ Constructor ------------
+    public FunctionValue(Lexeme function, Environment definingEnv) {
+        super(function.getType() == Types.LAMBDA ? -1 : function.getLine());   // lambdas have no line, as in the VM
+        this.function = function;
+        this.definingEnv = definingEnv;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.FUNC;}
+
+    public Lexeme getFunction() {return function;}
+
+    public Environment getDefiningEnv() {return definingEnv;}
+
+    @Override
+    public String printRepr() {return "[fnct]";}
+}
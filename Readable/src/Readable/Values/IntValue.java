@@ -0,0 +1,46 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+public class IntValue extends Value {
+    // ------------ Static Variables ------------
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;   // covers most loop counters and indices
+    private static final IntValue[] cache = new IntValue[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < cache.length; i++) cache[i] = new IntValue(-1, CACHE_LOW + i);
+    }
+
+    // ------------ Instance Variables ------------
+    private final int value;
+
+    // ------------ Constructor ------------
+    public IntValue(int line, int value) {
+        super(line);
+        this.value = value;
+    }
+
+    // Computed ints carry no line of their own (-1), so small ones can be shared.
+    public static IntValue of(int value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) return cache[value - CACHE_LOW];
+        return new IntValue(-1, value);
+    }
+
+    public static IntValue of(int line, int value) {
+        return line == -1 ? of(value) : new IntValue(line, value);
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.INT_LIT;}
+
+    @Override
+    public int getIntValue() {return value;}
+
+    @Override
+    public Object getValue() {return value;}
+
+    @Override
+    protected String getRepr() {return String.valueOf(value);}
+}
@@ -0,0 +1,17 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+public class NullValue extends Value {
+    // ------------ Static Variables ------------
+    public static final NullValue NULL = new NullValue();   // null carries nothing, so one instance serves all
+
+    // ------------ Constructor ------------
+    private NullValue() {
+        super(-1);
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.NULL;}
+}
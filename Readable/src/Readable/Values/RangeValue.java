@@ -0,0 +1,68 @@
+package Readable.Values;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class RangeValue extends ArrayValue {
+    // The value of 'first..last': the integers from first towards last, last excluded, counting down when last is
+    // below first. It is an ARR to everything else, but its elements only exist once something asks for them as a
+    // list (indexing, printing, array arithmetic); len and foreach just count. Its callers keep it to at most
+    // Integer.MAX_VALUE numbers, so its size is an int.
+
+    // ------------ Instance Variables ------------
+    private final int first;
+    private final int last;
+    private boolean materialized = false;
+
+    // ------------ Constructor ------------
+    public RangeValue(int line, int first, int last) {
+        super(line, (ArrayStorage) null);
+        this.first = first;
+        this.last = last;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    protected ArrayStorage storage() {
+        if (!materialized) {
+            materialized = true;
+            ArrayStorage.IntStorage ints = new ArrayStorage.IntStorage(
+                    (int) Math.min(Math.abs((long) last - first), Integer.MAX_VALUE - 8));
+            int step = first < last ? 1 : -1;
+            for (int i = first; step > 0 ? i < last : i > last; i += step) ints.addInt(i);
+            replaceStorage(ints);
+        }
+        return super.storage();
+    }
+
+    @Override
+    public int size() {
+        return materialized ? super.size() : (int) Math.abs((long) last - first);
+    }
+
+    public boolean isMaterialized() {return materialized;}
+
+    @Override
+    public Iterator<Value> iterator() {
+        return materialized ? super.iterator() : count(first, last);
+    }
+
+    // ------------ Counting ------------
+    public static Iterator<Value> count(int first, int last) {
+        return new Iterator<>() {
+            private final int step = first < last ? 1 : -1;
+            private int next = first;
+
+            @Override
+            public boolean hasNext() {return step > 0 ? next < last : next > last;}
+
+            @Override
+            public Value next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Value value = IntValue.of(next);
+                next += step;
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+import java.util.Iterator;
+
+public class StringValue extends Value {
+    // A string that can grow cheaply. Appending to a string longer than a few dozen characters writes into a
+    // StringBuilder shared with the string it came from; a later append to the newest of those strings writes into
+    // the same builder, so 'str = str + x' in a loop costs amortized O(1) per step instead of a copy of everything so
+    // far. The String itself is only cut out of the builder (once) when something needs it: comparing, indexing,
+    // iterating, printing.
+
+    // ------------ Static Variables ------------
+    private static final int SHARE_AFTER = 64;   // shorter results are just copied
+
+    // ------------ Instance Variables ------------
+    private String value;                  // null until flattened
+    private final StringBuilder builder;   // null for plain strings; its first 'length' chars are this string
+    private final int length;
+
+    // ------------ Constructors ------------
+    public StringValue(int line, String value) {
+        super(line);
+        this.value = value;
+        this.builder = null;
+        this.length = value.length();
+    }
+
+    private StringValue(StringBuilder builder, int length) {
+        super(-1);
+        this.builder = builder;
+        this.length = length;
+    }
+
+    // ------------ Getters ------------
+    @Override
+    public Types getType() {return Types.STRING_LIT;}
+
+    @Override
+    public String getStringValue() {
+        if (value == null) value = builder.substring(0, length);
+        return value;
+    }
+
+    @Override
+    public Object getValue() {return getStringValue();}
+
+    public int length() {return length;}
+
+    // One-character strings, made as the loop asks for them.
+    public Iterator<Value> iterator() {
+        String chars = getStringValue();
+        return new Iterator<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {return index < chars.length();}
+
+            @Override
+            public Value next() {return new StringValue(-1, String.valueOf(chars.charAt(index++)));}
+        };
+    }
+
+    // ------------ Appending ------------
+    public StringValue concat(String suffix) {
+        int newLength = length + suffix.length();
+        if (builder != null && builder.length() == length) {   // nothing has been appended after this one yet
+            builder.append(suffix);
+            return new StringValue(builder, newLength);
+        }
+        if (newLength < SHARE_AFTER) return new StringValue(-1, getStringValue() + suffix);
+        StringBuilder grown = new StringBuilder(newLength * 2);
+        if (value != null) grown.append(value);
+        else grown.append(builder, 0, length);
+        return new StringValue(grown.append(suffix), newLength);
+    }
+
+    @Override
+    protected String getRepr() {return "'" + getStringValue() + "'";}
+}
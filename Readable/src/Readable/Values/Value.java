@@ -0,0 +1,47 @@
+package Readable.Values;
+
+import Readable.LexicalAnalysis.Types;
+
+public abstract class Value {
+    // What the evaluators compute with, kept apart from the Lexeme parse nodes. Values report their kind with the
+    // same Types a literal Lexeme would have, so runtime error messages read as they always did.
+
+    // ------------ Instance Variables ------------
+    private final int line;   // where the value was written, or -1 if it was computed
+
+    // ------------ Constructor ------------
+    protected Value(int line) {
+        this.line = line;
+    }
+
+    // ------------ Getters ------------
+    public abstract Types getType();
+
+    public int getLine() {return line;}
+
+    // Like a Lexeme's unset fields, these read as zero/null on values of the wrong kind.
+    public int getIntValue() {return 0;}
+
+    public double getDecValue() {return 0.0;}
+
+    public String getStringValue() {return null;}
+
+    public Object getValue() {return null;}
+
+    // ------------ Printing ------------
+    public String printRepr() {
+        return String.valueOf(getValue());
+    }
+
+    protected String getRepr() {
+        return null;
+    }
+
+    public String toString() {
+        String value = getRepr();
+        if (value != null) {
+            return getType().toString() + ": " + value + " at line " + getLine();
+        }
+        return getType().toString() + " Lexeme at line " + getLine();
+    }
+}